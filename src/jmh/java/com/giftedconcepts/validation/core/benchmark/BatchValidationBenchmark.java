@@ -0,0 +1,113 @@
+package com.giftedconcepts.validation.core.benchmark;
+
+import com.giftedconcepts.validation.core.ValidationApplication;
+import com.giftedconcepts.validation.core.batch.BatchValidationResult;
+import com.giftedconcepts.validation.core.batch.BatchValidationService;
+import com.giftedconcepts.validation.core.model.Department;
+import com.giftedconcepts.validation.core.model.PurchaseOrder;
+import com.giftedconcepts.validation.core.model.PurchaseOrderLineItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures {@link BatchValidationService} on a batch of PurchaseOrders against the sequential loop it replaces, for
+ * the scaling with the batch.parallelism.
+ * <p>
+ * Run with: mvn -P benchmark test-compile exec:exec -Djmh.args="BatchValidationBenchmark -p parallelism=1,2,4,8"
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchValidationBenchmark {
+
+    private static final int PURCHASE_ORDERS = 10_000;
+
+    @Param({"1", "2", "4"})
+    private int parallelism;
+
+    private ConfigurableApplicationContext applicationContext;
+    private BatchValidationService batchValidationService;
+    private Validator validator;
+    private List<PurchaseOrder> purchaseOrders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        applicationContext = new SpringApplicationBuilder(ValidationApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--com.giftedconcepts.validate.annotation.batch.parallelism=" + parallelism,
+                        "--com.giftedconcepts.validate.annotation.metrics.enabled=false");
+        batchValidationService = applicationContext.getBean(BatchValidationService.class);
+        validator = applicationContext.getBean(ValidatorFactory.class).getValidator();
+
+        final Random random = new Random(PURCHASE_ORDERS);
+        purchaseOrders = IntStream.range(0, PURCHASE_ORDERS).mapToObj(i -> createPurchaseOrder(random, i))
+                .collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public BatchValidationResult<PurchaseOrder> batch() {
+        return batchValidationService.validate(purchaseOrders);
+    }
+
+    @Benchmark
+    public int sequential() {
+        int violations = 0;
+        for (final PurchaseOrder purchaseOrder : purchaseOrders) {
+            final Set<?> result = validator.validate(purchaseOrder);
+            violations += result.size();
+        }
+
+        return violations;
+    }
+
+    private static PurchaseOrder createPurchaseOrder(final Random random, final int i) {
+        final Department department = Department.builder().departmentId(random.nextLong()).floor(random.nextInt())
+                .name("Information Technology").departmentLegalStatement("This is my legal statement.").build();
+        final List<PurchaseOrderLineItem> lineItems = IntStream.range(0, 3)
+                .mapToObj(item -> PurchaseOrderLineItem.builder().itemDescription("Line item " + item)
+                        .identifiableField("item-" + i + "-" + item).quantity(item + 1).unitPrice(BigDecimal.TEN)
+                        .total(BigDecimal.TEN.multiply(BigDecimal.valueOf(item + 1L))).build())
+                .collect(Collectors.toCollection(ArrayList::new));
+        /* One purchase order in a hundred has an unprintable character */
+        final String description = i % 100 == 0 ? "Purchase order " + i + (char) 7 : "Purchase order " + i;
+
+        return PurchaseOrder.builder().purchaserName("Timmy Richard").description(description)
+                .department(department).purchaseOrderLineItems(lineItems).submitDate(LocalDate.now())
+                .skipMyField("skipped").build();
+    }
+}
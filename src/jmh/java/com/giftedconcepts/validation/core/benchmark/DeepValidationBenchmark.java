@@ -0,0 +1,120 @@
+package com.giftedconcepts.validation.core.benchmark;
+
+import com.giftedconcepts.validation.core.ValidationApplication;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharacters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the deep mode of {@link UnprintableCharacters} against {@code @Valid} cascading, on an order holding a
+ * growing number of clean line items.
+ * <p>
+ * Run with: mvn -P benchmark test-compile exec:exec -Djmh.args="DeepValidationBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DeepValidationBenchmark {
+
+    @Param({"10", "1000"})
+    private int lineItems;
+
+    private ConfigurableApplicationContext applicationContext;
+    private Validator validator;
+    private DeepOrder deepOrder;
+    private CascadedOrder cascadedOrder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        applicationContext = new SpringApplicationBuilder(ValidationApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--com.giftedconcepts.validate.annotation.metrics.enabled=false");
+        validator = applicationContext.getBean(ValidatorFactory.class).getValidator();
+
+        final List<LineItem> items = IntStream.range(0, lineItems)
+                .mapToObj(i -> new LineItem("item-" + i, "A clean description of the line item " + i))
+                .collect(Collectors.toList());
+        deepOrder = new DeepOrder("A clean description", items);
+        cascadedOrder = new CascadedOrder("A clean description", items);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<DeepOrder>> deep() {
+        return validator.validate(deepOrder);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CascadedOrder>> cascaded() {
+        return validator.validate(cascadedOrder);
+    }
+
+    @UnprintableCharacters(identifierFields = "id")
+    public static class LineItem {
+
+        final String id;
+        final String description;
+
+        LineItem(final String id, final String description) {
+            this.id = id;
+            this.description = description;
+        }
+    }
+
+    @UnprintableCharacters(deep = true)
+    public static class DeepOrder {
+
+        final String description;
+        final List<LineItem> lineItems;
+
+        DeepOrder(final String description, final List<LineItem> lineItems) {
+            this.description = description;
+            this.lineItems = lineItems;
+        }
+    }
+
+    @UnprintableCharacters
+    public static class CascadedOrder {
+
+        final String description;
+        @Valid
+        final List<LineItem> lineItems;
+
+        CascadedOrder(final String description, final List<LineItem> lineItems) {
+            this.description = description;
+            this.lineItems = lineItems;
+        }
+    }
+}
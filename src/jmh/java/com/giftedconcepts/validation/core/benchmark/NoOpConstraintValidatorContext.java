@@ -0,0 +1,35 @@
+package com.giftedconcepts.validation.core.benchmark;
+
+import javax.validation.ConstraintValidatorContext;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A ConstraintValidatorContext which accepts and discards every violation, so the validator can be called directly
+ * without Hibernate Validator around it. Every builder in the fluent chain is a shared proxy.
+ */
+final class NoOpConstraintValidatorContext {
+
+    private static final Map<Class<?>, Object> PROXIES = new ConcurrentHashMap<>();
+
+    private NoOpConstraintValidatorContext() {
+    }
+
+    static ConstraintValidatorContext create() {
+        return proxy(ConstraintValidatorContext.class);
+    }
+
+    private static <T> T proxy(final Class<T> type) {
+        return type.cast(PROXIES.computeIfAbsent(type, key -> Proxy.newProxyInstance(
+                NoOpConstraintValidatorContext.class.getClassLoader(), new Class<?>[]{key},
+                (proxy, method, args) -> {
+                    final Class<?> returnType = method.getReturnType();
+                    if (returnType.isInterface()) {
+                        return proxy(returnType);
+                    }
+
+                    return returnType == boolean.class ? Boolean.FALSE : null;
+                })));
+    }
+}
@@ -0,0 +1,209 @@
+package com.giftedconcepts.validation.core.benchmark;
+
+import com.giftedconcepts.validation.core.ValidationApplication;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharacters;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharactersValidator;
+import com.giftedconcepts.validation.core.model.Department;
+import com.giftedconcepts.validation.core.model.PurchaseOrder;
+import com.giftedconcepts.validation.core.model.PurchaseOrderLineItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the unprintable characters validation, through the ValidatorFactory (the whole PurchaseOrder graph,
+ * cascading included) and by calling {@link UnprintableCharactersValidator#isValid} directly.
+ * <p>
+ * The benchmark application allows the Latin-1 and CJK alphabets used for the payload in both the base regex and the
+ * legal characters, so "clean" content is valid for every alphabet and "dirty" content has a single BEL character in
+ * the middle of the value.
+ * <p>
+ * Run with: mvn -P benchmark test-compile exec:exec -Djmh.args="UnprintableCharactersBenchmark -prof gc", add
+ * "-p cleanValues=false,true" to compare with the clean values cache.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UnprintableCharactersBenchmark {
+
+    private static final char DIRTY_CHARACTER = '\u0007';
+    private static final int LINE_ITEMS = 3;
+
+    @Param({"ASCII", "LATIN1", "CJK"})
+    private Alphabet alphabet;
+
+    @Param({"true", "false"})
+    private boolean clean;
+
+    @Param({"10", "1024", "102400", "1048576"})
+    private int length;
+
+    @Param({"BASE", "LEGAL"})
+    private FieldKind field;
+
+    /* The same PurchaseOrder is validated over and over, so with the clean values cache every clean value is a hit */
+    @Param({"false"})
+    private boolean cleanValues;
+
+    private ConfigurableApplicationContext applicationContext;
+    private Validator validator;
+    private UnprintableCharactersValidator unprintableCharactersValidator;
+    private ConstraintValidatorContext constraintValidatorContext;
+    private PurchaseOrder purchaseOrder;
+    private Object directTarget;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        applicationContext = new SpringApplicationBuilder(ValidationApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(Alphabet.applicationArguments(cleanValues));
+        validator = applicationContext.getBean(ValidatorFactory.class).getValidator();
+
+        /* The same instance Hibernate Validator would create, autowired and initialized */
+        unprintableCharactersValidator = applicationContext.getAutowireCapableBeanFactory()
+                .createBean(UnprintableCharactersValidator.class);
+        constraintValidatorContext = NoOpConstraintValidatorContext.create();
+
+        final Random random = new Random(length);
+        final String payload = alphabet.generate(random, length, clean);
+        final Department department = Department.builder().departmentId(random.nextLong()).floor(random.nextInt())
+                .name("Information Technology")
+                .departmentLegalStatement(field == FieldKind.LEGAL ? payload : "This is my legal statement.")
+                .build();
+        final List<PurchaseOrderLineItem> lineItems = IntStream.range(0, LINE_ITEMS)
+                .mapToObj(i -> PurchaseOrderLineItem.builder().itemDescription(alphabet.generate(random, 20, true))
+                        .identifiableField("This is my identity.").quantity(i + 1)
+                        .unitPrice(BigDecimal.TEN).total(BigDecimal.TEN.multiply(BigDecimal.valueOf(i + 1L)))
+                        .build())
+                .collect(Collectors.toCollection(ArrayList::new));
+        purchaseOrder = PurchaseOrder.builder().purchaserName("Timmy Richard")
+                .description(field == FieldKind.BASE ? payload : "This is a test description.")
+                .department(department).purchaseOrderLineItems(lineItems).submitDate(LocalDate.now())
+                .skipMyField("skipped").build();
+
+        directTarget = field == FieldKind.BASE ? purchaseOrder : department;
+        unprintableCharactersValidator.initialize(directTarget.getClass().getAnnotation(UnprintableCharacters.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Set<ConstraintViolation<PurchaseOrder>> validatorFactory() {
+        return validator.validate(purchaseOrder);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Set<ConstraintViolation<PurchaseOrder>> validatorFactoryLatency() {
+        return validator.validate(purchaseOrder);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean direct() {
+        return unprintableCharactersValidator.isValid(directTarget, constraintValidatorContext);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean directLatency() {
+        return unprintableCharactersValidator.isValid(directTarget, constraintValidatorContext);
+    }
+
+    public enum FieldKind {
+        /* PurchaseOrder.description */
+        BASE,
+        /* Department.departmentLegalStatement */
+        LEGAL
+    }
+
+    public enum Alphabet {
+        ASCII(0, ' ', '~'),
+        /* Half printable ASCII, half Latin-1 letters */
+        LATIN1(50, 0xC0, 0xFF),
+        /* Mostly CJK unified ideographs */
+        CJK(80, 0x4E00, 0x4E3F);
+
+        private final int nonAsciiPercentage;
+        private final int first;
+        private final int last;
+
+        Alphabet(final int nonAsciiPercentage, final int first, final int last) {
+            this.nonAsciiPercentage = nonAsciiPercentage;
+            this.first = first;
+            this.last = last;
+        }
+
+        String generate(final Random random, final int length, final boolean clean) {
+            final StringBuilder value = new StringBuilder(length);
+            for (int i = 0; i < length; ++i) {
+                if (random.nextInt(100) < nonAsciiPercentage) {
+                    value.append((char) (first + random.nextInt(last - first + 1)));
+                } else {
+                    value.append((char) (' ' + random.nextInt('~' - ' ' + 1)));
+                }
+            }
+            if (!clean) {
+                value.setCharAt(length / 2, DIRTY_CHARACTER);
+            }
+
+            return value.toString();
+        }
+
+        /**
+         * @return command line arguments, which take precedence over application.yml, allowing every alphabet in both
+         * the base and the legal fields.
+         */
+        static String[] applicationArguments(final boolean cleanValues) {
+            final StringBuilder legal = new StringBuilder("149,8226,13,10,167,182");
+            for (final Alphabet alphabet : new Alphabet[]{LATIN1, CJK}) {
+                for (int codePoint = alphabet.first; codePoint <= alphabet.last; ++codePoint) {
+                    legal.append(',').append(codePoint);
+                }
+            }
+
+            return new String[]{
+                    "--com.giftedconcepts.validate.annotation.unprintableRegex=[^\\x20-\\x7E\\xC0-\\xFF\\u4E00-\\u4E3F]",
+                    "--com.giftedconcepts.validate.annotation.allowedLegalValidationCharacters=" + legal,
+                    "--com.giftedconcepts.validate.annotation.cleanValues.enabled=" + cleanValues
+            };
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.giftedconcepts.validation.core.benchmark;
+
+import com.giftedconcepts.validation.core.ValidationApplication;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharacters;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharactersValidator;
+import com.giftedconcepts.validation.core.model.PurchaseOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.validation.ConstraintValidatorContext;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the Micrometer instrumentation of {@link UnprintableCharactersValidator}: "off" runs with the
+ * shipped application.yml, which disables both the meters and the slow validation log, "meters" records the timer and
+ * the counters on every validation.
+ * <p>
+ * Run with: mvn -P benchmark test-compile exec:exec -Djmh.args="ValidationMetricsBenchmark"
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ValidationMetricsBenchmark {
+
+    private static final String METRICS_PREFIX = "--com.giftedconcepts.validate.annotation.metrics.";
+
+    @Param({"off", "meters"})
+    private String metrics;
+
+    @Param({"10", "1024"})
+    private int length;
+
+    private ConfigurableApplicationContext applicationContext;
+    private UnprintableCharactersValidator unprintableCharactersValidator;
+    private ConstraintValidatorContext constraintValidatorContext;
+    private PurchaseOrder purchaseOrder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        /* The "off" case keeps the defaults, so it measures what a deployment gets without configuration */
+        final String[] args = "meters".equals(metrics) ? new String[]{METRICS_PREFIX + "enabled=true"}
+                : new String[0];
+        applicationContext = new SpringApplicationBuilder(ValidationApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(args);
+
+        unprintableCharactersValidator = applicationContext.getAutowireCapableBeanFactory()
+                .createBean(UnprintableCharactersValidator.class);
+        unprintableCharactersValidator.initialize(PurchaseOrder.class.getAnnotation(UnprintableCharacters.class));
+        constraintValidatorContext = NoOpConstraintValidatorContext.create();
+
+        final String payload = UnprintableCharactersBenchmark.Alphabet.ASCII.generate(new Random(length), length, true);
+        purchaseOrder = PurchaseOrder.builder().purchaserName("Timmy Richard").description(payload)
+                .submitDate(LocalDate.now()).skipMyField("skipped").build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean direct() {
+        return unprintableCharactersValidator.isValid(purchaseOrder, constraintValidatorContext);
+    }
+}
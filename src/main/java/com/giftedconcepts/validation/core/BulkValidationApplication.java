@@ -0,0 +1,41 @@
+package com.giftedconcepts.validation.core;
+
+import com.giftedconcepts.validation.core.batch.BulkFileValidator;
+import com.giftedconcepts.validation.core.batch.BulkValidationSummary;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Paths;
+
+/**
+ * Validates a JSON Lines file with {@link BulkFileValidator}, without a web server:
+ * <pre>
+ * java -cp app.jar -Dloader.main=com.giftedconcepts.validation.core.BulkValidationApplication \
+ *     org.springframework.boot.loader.PropertiesLauncher input.jsonl violations.jsonl com.example.PurchaseOrder
+ * </pre>
+ * Spring properties can follow, e.g. --com.giftedconcepts.validate.annotation.bulk.parallelism=8. The exit code is 0
+ * when every line is valid, 1 when a line is not, 2 on a usage or I/O error.
+ */
+public class BulkValidationApplication {
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Usage: BulkValidationApplication <input.jsonl> <output.jsonl> <class> "
+                    + "[--property=value...]");
+            System.exit(2);
+        }
+
+        int exitCode;
+        try (ConfigurableApplicationContext applicationContext = new SpringApplicationBuilder(
+                ValidationApplication.class).web(WebApplicationType.NONE).run(args)) {
+            final BulkValidationSummary summary = applicationContext.getBean(BulkFileValidator.class).validate(
+                    Paths.get(args[0]), Paths.get(args[1]), Class.forName(args[2]));
+            exitCode = summary.isValid() ? 0 : 1;
+        } catch (final Exception e) {
+            System.err.println("Bulk validation failed: " + e.getMessage());
+            exitCode = 2;
+        }
+        System.exit(exitCode);
+    }
+}
@@ -0,0 +1,10 @@
+package com.giftedconcepts.validation.core.annotations;
+
+/**
+ * Reads the value of one field of a validated object.
+ */
+@FunctionalInterface
+public interface FieldReader {
+
+    Object read(Object object);
+}
@@ -0,0 +1,220 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import com.giftedconcepts.validation.core.policy.CharacterPolicy;
+import org.hibernate.validator.engine.HibernateConstraintViolation;
+
+import javax.validation.ConstraintViolation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The structured report of a field which failed the {@link UnprintableCharacters} validation, carried by its
+ * {@link ConstraintViolation} as the Hibernate Validator dynamic payload, see {@link #of(ConstraintViolation)}.
+ * <p>
+ * Reporting a violation only allocates this object: the offending code points and their offsets are found on the first
+ * call to one of their getters, by scanning the value again from the first offending character, and the message on
+ * the first call to {@link #getMessage()}. At most {@code report.maxOffsets} characters are reported.
+ */
+public final class FieldViolation {
+
+    public enum Reason {
+        /* The value has characters which the policy does not allow */
+        CHARACTERS,
+        /* The value is over limits.maxFieldLength, it was not scanned */
+        MAX_LENGTH,
+        /* The scan budget of the validation was spent, the value was not scanned */
+        SCAN_BUDGET
+    }
+
+    private static final int[] NONE = new int[0];
+
+    private final Reason reason;
+    private final String propertyNode;
+    private final String value;
+    private final CharacterPolicy policy;
+    /* The offset of the first offending character, or the maximum length */
+    private final int first;
+    private final int maxOffsets;
+    private String[] identifierFields;
+    private Object[] identifierValues;
+    private volatile Offending offending;
+    private volatile String message;
+
+    private FieldViolation(final Reason reason, final String propertyNode, final String value,
+                           final CharacterPolicy policy, final int first, final int maxOffsets) {
+        this.reason = reason;
+        this.propertyNode = propertyNode;
+        this.value = value;
+        this.policy = policy;
+        this.first = first;
+        this.maxOffsets = maxOffsets;
+    }
+
+    /**
+     * @param propertyNode the property node of the field, e.g. "PurchaseOrder.description"
+     * @param value        the value of the field
+     * @param policy       the policy of the field
+     * @param first        the offset of the first character the policy does not allow
+     * @param maxOffsets   the most offending characters reported
+     * @return the report of the offending characters.
+     */
+    static FieldViolation characters(final String propertyNode, final String value, final CharacterPolicy policy,
+                                     final int first, final int maxOffsets) {
+        return new FieldViolation(Reason.CHARACTERS, propertyNode, value, policy, first, Math.max(1, maxOffsets));
+    }
+
+    /**
+     * @param reason       {@link Reason#MAX_LENGTH} or {@link Reason#SCAN_BUDGET}
+     * @param propertyNode the property node of the field
+     * @param maxLength    the maximum length, 0 for the scan budget
+     * @return the report of a field which was not scanned.
+     */
+    static FieldViolation limit(final Reason reason, final String propertyNode, final int maxLength) {
+        return new FieldViolation(reason, propertyNode, null, null, maxLength, 0);
+    }
+
+    /**
+     * Set before the violation is reported, never changed after.
+     */
+    void setIdentifiers(final String[] identifierFields, final Object[] identifierValues) {
+        this.identifierFields = identifierFields;
+        this.identifierValues = identifierValues;
+    }
+
+    /**
+     * @param violation a violation of any constraint
+     * @return its report, or null if it is not a violation of {@link UnprintableCharacters}.
+     */
+    public static FieldViolation of(final ConstraintViolation<?> violation) {
+        final HibernateConstraintViolation<?> hibernateViolation = violation.unwrap(HibernateConstraintViolation.class);
+
+        return hibernateViolation.getDynamicPayload(FieldViolation.class);
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * @return the property node of the field, e.g. "PurchaseOrder.description" or "PurchaseOrder.tags[2]"; the full
+     * path is the one of the violation.
+     */
+    public String getPropertyNode() {
+        return propertyNode;
+    }
+
+    /**
+     * @return the offending code points in value order, empty when the field was not scanned.
+     */
+    public int[] getCodePoints() {
+        return offending().codePoints.clone();
+    }
+
+    /**
+     * @return the char offsets of the offending code points in the value.
+     */
+    public int[] getOffsets() {
+        return offending().offsets.clone();
+    }
+
+    /**
+     * @return true if the value has more offending characters than the ones reported.
+     */
+    public boolean isTruncated() {
+        return offending().truncated;
+    }
+
+    /**
+     * @return the maximum length for {@link Reason#MAX_LENGTH}, otherwise 0.
+     */
+    public int getMaxLength() {
+        return reason == Reason.MAX_LENGTH ? first : 0;
+    }
+
+    /**
+     * @return the identifierFields of the object holding the field and their values, empty when it has none.
+     */
+    public Map<String, Object> getIdentifiers() {
+        if (identifierFields == null) {
+            return Collections.emptyMap();
+        }
+        final Map<String, Object> identifiers = new LinkedHashMap<>();
+        for (int i = 0; i < identifierFields.length; ++i) {
+            identifiers.put(identifierFields[i], identifierValues[i]);
+        }
+
+        return identifiers;
+    }
+
+    /**
+     * @return the message of the violation, without the identifiers.
+     */
+    public String getMessage() {
+        String built = message;
+        if (built == null) {
+            switch (reason) {
+                case CHARACTERS:
+                    built = String.format(UnprintableCharactersValidator.FIELD_HAS_FAILED_VALIDATION_MSG,
+                            propertyNode);
+                    break;
+                case MAX_LENGTH:
+                    built = String.format(UnprintableCharactersValidator.FIELD_EXCEEDS_MAX_LENGTH_MSG, propertyNode,
+                            first);
+                    break;
+                default:
+                    built = String.format(UnprintableCharactersValidator.FIELD_EXCEEDS_SCAN_BUDGET_MSG,
+                            propertyNode);
+                    break;
+            }
+            message = built;
+        }
+
+        return built;
+    }
+
+    private Offending offending() {
+        Offending found = offending;
+        if (found == null) {
+            found = reason == Reason.CHARACTERS ? scan() : new Offending(NONE, NONE, false);
+            offending = found;
+        }
+
+        return found;
+    }
+
+    private Offending scan() {
+        final int[] codePoints = new int[maxOffsets];
+        final int[] offsets = new int[maxOffsets];
+        int count = 0;
+        int i = first;
+        while (i >= 0 && count < maxOffsets) {
+            codePoints[count] = value.codePointAt(i);
+            offsets[count] = i;
+            i = policy.indexOfViolation(value, i + Character.charCount(codePoints[count]));
+            ++count;
+        }
+
+        return new Offending(Arrays.copyOf(codePoints, count), Arrays.copyOf(offsets, count), i >= 0);
+    }
+
+    @Override
+    public String toString() {
+        return "FieldViolation{" + reason + " " + propertyNode + (reason == Reason.CHARACTERS
+                ? " at " + Arrays.toString(offending().offsets) : "") + "}";
+    }
+
+    private static final class Offending {
+
+        private final int[] codePoints;
+        private final int[] offsets;
+        private final boolean truncated;
+
+        private Offending(final int[] codePoints, final int[] offsets, final boolean truncated) {
+            this.codePoints = codePoints;
+            this.offsets = offsets;
+            this.truncated = truncated;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.giftedconcepts.validation.core.annotations;
+
+/**
+ * Writes the value of one field of a sanitized object.
+ */
+@FunctionalInterface
+public interface FieldWriter {
+
+    void write(Object object, Object value);
+}
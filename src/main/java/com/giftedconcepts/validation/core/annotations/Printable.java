@@ -0,0 +1,59 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The element level companion of {@link UnprintableCharacters}: a CharSequence field, getter, method parameter, return
+ * value or type argument, e.g. {@code List<@Printable String>}, only holds characters allowed by the policy. Hibernate
+ * Validator discovers and caches the constraint with the rest of the bean metadata, and Spring beans annotated with
+ * {@code @Validated} get their method parameters validated. The character tables are the ones
+ * {@link UnprintableCharacters} uses.
+ */
+@Documented
+@Constraint(validatedBy = PrintableValidator.class)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.TYPE_USE,
+        ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(Printable.List.class)
+public @interface Printable {
+
+    Class<?>[] groups() default {};
+
+    String message() default "has special characters which failed validation.";
+
+    Class<? extends Payload>[] payload() default {};
+
+    /**
+     * @return the characters allowed, those of the unprintableRegex application property by default.
+     */
+    Policy policy() default Policy.BASE;
+
+    /**
+     * @return the name of a policy of the com.giftedconcepts.validate.annotation.policies configuration, which takes
+     * precedence over {@link #policy()} when set.
+     */
+    String policyName() default "";
+
+    enum Policy {
+        /* The characters the unprintableRegex does not match */
+        BASE,
+        /* Printable ASCII and the allowedLegalValidationCharacters, as for UnprintableCharactersAllowLegal fields */
+        LEGAL
+    }
+
+    @Documented
+    @Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.TYPE_USE,
+            ElementType.ANNOTATION_TYPE})
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface List {
+
+        Printable[] value();
+    }
+}
@@ -0,0 +1,55 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import com.giftedconcepts.validation.core.config.ValidationSnapshots;
+import com.giftedconcepts.validation.core.policy.CharacterPolicy;
+import com.giftedconcepts.validation.core.policy.CharacterPolicyRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+/**
+ * Validates a {@link Printable} element against the policies {@link UnprintableCharactersValidator} uses, so both
+ * share the compiled character tables and the clean values cache. A null value is valid.
+ */
+@Slf4j
+public class PrintableValidator implements ConstraintValidator<Printable, CharSequence> {
+
+    @Autowired
+    private ValidationSnapshots validationSnapshots;
+    private String policyName;
+
+    @Override
+    public void initialize(final Printable constraintAnnotation) {
+        ConstraintValidator.super.initialize(constraintAnnotation);
+        if (!constraintAnnotation.policyName().isEmpty()) {
+            policyName = constraintAnnotation.policyName();
+        } else {
+            policyName = constraintAnnotation.policy() == Printable.Policy.LEGAL ? CharacterPolicyRegistry.LEGAL
+                    : CharacterPolicyRegistry.BASE;
+        }
+        /* An unknown policy name fails here rather than on the first value */
+        validationSnapshots.get().getPolicies().get(policyName);
+    }
+
+    @Override
+    public boolean isValid(final CharSequence value, final ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        /* The policy of the current snapshot and tenant, a reload applies to the next value */
+        final CharacterPolicy policy = validationSnapshots.current().getPolicies().get(policyName);
+        final int i = policy.indexOfViolation(value, 0);
+        if (i >= 0) {
+            /* The code point as a number, the character itself may be a control character */
+            if (log.isDebugEnabled()) {
+                log.debug("Invalid character {} at index {}",
+                        String.format("U+%04X", Character.codePointAt(value, i)), i);
+            }
+            return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,31 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import lombok.Getter;
+
+import javax.validation.ConstraintViolation;
+import java.util.Set;
+
+/**
+ * The violations of an incremental validation, and how many String fields were scanned again.
+ *
+ * @param <T> type of the validated object
+ */
+@Getter
+public class RevalidationResult<T> {
+
+    private final Set<ConstraintViolation<T>> violations;
+    /* Fields found clean by an earlier validation, with the same value under the same configuration */
+    private final int reusedFields;
+    private final int rescannedFields;
+
+    RevalidationResult(final Set<ConstraintViolation<T>> violations, final int reusedFields,
+                       final int rescannedFields) {
+        this.violations = violations;
+        this.reusedFields = reusedFields;
+        this.rescannedFields = rescannedFields;
+    }
+
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+}
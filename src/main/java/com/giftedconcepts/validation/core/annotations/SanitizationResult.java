@@ -0,0 +1,31 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The fields {@link UnprintableCharactersSanitizer} rewrote in an object, for auditing.
+ */
+@Getter
+@ToString
+public class SanitizationResult {
+
+    private static final SanitizationResult UNCHANGED = new SanitizationResult(Collections.emptyList());
+
+    private final List<SanitizedField> changedFields;
+
+    SanitizationResult(final List<SanitizedField> changedFields) {
+        this.changedFields = Collections.unmodifiableList(changedFields);
+    }
+
+    static SanitizationResult unchanged() {
+        return UNCHANGED;
+    }
+
+    public boolean isChanged() {
+        return !changedFields.isEmpty();
+    }
+}
@@ -0,0 +1,24 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A String field rewritten by {@link UnprintableCharactersSanitizer}.
+ */
+@Getter
+@ToString
+public class SanitizedField {
+
+    private final String name;
+    /* e.g. "PurchaseOrder.description", as reported by the validator */
+    private final String propertyNode;
+    /* Number of characters removed or replaced */
+    private final int replacedCharacters;
+
+    SanitizedField(final String name, final String propertyNode, final int replacedCharacters) {
+        this.name = name;
+        this.propertyNode = propertyNode;
+        this.replacedCharacters = replacedCharacters;
+    }
+}
@@ -0,0 +1,112 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * How a field validated by {@link UnprintableCharactersValidator} holds its Strings. A violation of an element is
+ * reported with the index or the key of the element in the property node, e.g. "PurchaseOrder.tags[2]", or "[]" for
+ * the elements of a collection which is not a list. In deep mode
+ * it is also how a field holds its nested objects, NONE being a single object and only map values being nested.
+ */
+public enum StringContainer {
+
+    /* String */
+    NONE,
+    /* Collection<String>, RandomAccess lists are iterated by index */
+    COLLECTION,
+    /* String[] */
+    ARRAY,
+    /* Map<String, ?> */
+    MAP_KEYS,
+    /* Map<?, String> */
+    MAP_VALUES,
+    /* Map<String, String> */
+    MAP_KEYS_AND_VALUES,
+    /* Optional<String> */
+    OPTIONAL;
+
+    boolean hasKeys() {
+        return this == MAP_KEYS || this == MAP_KEYS_AND_VALUES;
+    }
+
+    boolean hasValues() {
+        return this == MAP_VALUES || this == MAP_KEYS_AND_VALUES;
+    }
+
+    /**
+     * @param type        the declared type of a field
+     * @param genericType the generic type of the field
+     * @return how the field holds Strings, or null if it does not hold any.
+     */
+    static StringContainer of(final Class<?> type, final Type genericType) {
+        if (type == String.class) {
+            return NONE;
+        }
+        if (type == String[].class) {
+            return ARRAY;
+        }
+        if (!(genericType instanceof ParameterizedType)) {
+            return null;
+        }
+
+        final Type[] arguments = ((ParameterizedType) genericType).getActualTypeArguments();
+        if (Collection.class.isAssignableFrom(type) && arguments.length == 1 && arguments[0] == String.class) {
+            return COLLECTION;
+        }
+        if (type == Optional.class && arguments[0] == String.class) {
+            return OPTIONAL;
+        }
+        if (Map.class.isAssignableFrom(type) && arguments.length == 2) {
+            return ofMap(arguments[0] == String.class, arguments[1] == String.class);
+        }
+
+        return null;
+    }
+
+    /**
+     * @param type        the declared type of a field
+     * @param genericType the generic type of the field
+     * @return how the field holds objects of a type annotated with {@link UnprintableCharacters}, or null if it does
+     * not hold any.
+     */
+    static StringContainer ofNested(final Class<?> type, final Type genericType) {
+        if (isAnnotated(type)) {
+            return NONE;
+        }
+        if (type.isArray()) {
+            return isAnnotated(type.getComponentType()) ? ARRAY : null;
+        }
+        if (!(genericType instanceof ParameterizedType)) {
+            return null;
+        }
+
+        final Type[] arguments = ((ParameterizedType) genericType).getActualTypeArguments();
+        if (Collection.class.isAssignableFrom(type) && arguments.length == 1 && isAnnotated(arguments[0])) {
+            return COLLECTION;
+        }
+        if (type == Optional.class && isAnnotated(arguments[0])) {
+            return OPTIONAL;
+        }
+        if (Map.class.isAssignableFrom(type) && arguments.length == 2 && isAnnotated(arguments[1])) {
+            return MAP_VALUES;
+        }
+
+        return null;
+    }
+
+    private static boolean isAnnotated(final Type type) {
+        return type instanceof Class && ((Class<?>) type).isAnnotationPresent(UnprintableCharacters.class);
+    }
+
+    static StringContainer ofMap(final boolean stringKeys, final boolean stringValues) {
+        if (stringKeys) {
+            return stringValues ? MAP_KEYS_AND_VALUES : MAP_KEYS;
+        }
+
+        return stringValues ? MAP_VALUES : null;
+    }
+}
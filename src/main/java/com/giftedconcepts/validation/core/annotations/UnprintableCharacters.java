@@ -21,4 +21,24 @@ public @interface UnprintableCharacters {
     String[] identifierFields() default {};
 
     String identifierFieldsMessage() default "";
+
+    /**
+     * @return whether the validation stops at the first field which fails, instead of reporting every failed field.
+     * DEFAULT uses the failFast application property.
+     */
+    FailFast failFast() default FailFast.DEFAULT;
+
+    /**
+     * @return whether the nested objects of annotated types, held by a field, an array, a collection, a map value or
+     * an Optional, are validated in the same traversal, down to the deep.maxDepth application property. The
+     * violations have the paths cascading would give them, so the nested fields should not be annotated with
+     * {@code @Valid} as well. Every object is visited once, cycles included.
+     */
+    boolean deep() default false;
+
+    enum FailFast {
+        DEFAULT,
+        ENABLED,
+        DISABLED
+    }
 }
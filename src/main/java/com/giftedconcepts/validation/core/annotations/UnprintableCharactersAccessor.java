@@ -0,0 +1,97 @@
+package com.giftedconcepts.validation.core.annotations;
+
+/**
+ * Implemented by the classes {@code UnprintableCharactersProcessor} generates at compile time for every type annotated
+ * with {@link UnprintableCharacters}. A generated accessor reads the fields through their getters, so the validator
+ * does not need reflection for the type. Types without a generated accessor are still handled through reflection.
+ * An accessor only describes the fields declared by its type, the fields of the superclasses are described by theirs.
+ */
+public interface UnprintableCharactersAccessor {
+
+    String CLASS_NAME_SUFFIX = "_UnprintableCharactersAccessor";
+
+    /**
+     * @param binaryName the binary name of the annotated type, e.g. "com.example.Outer$Inner"
+     * @return the binary name of the generated accessor, e.g. "com.example.Outer_Inner_UnprintableCharactersAccessor"
+     */
+    static String accessorClassName(final String binaryName) {
+        return binaryName.replace('$', '_') + CLASS_NAME_SUFFIX;
+    }
+
+    /**
+     * Registers the fields of the annotated type, in declaration order.
+     *
+     * @param fields receives the fields
+     */
+    void describe(Fields fields);
+
+    interface Fields {
+
+        /**
+         * A String field which has to be validated. Fields annotated with {@link UnprintableCharactersSkip} are not
+         * registered.
+         *
+         * @param name         the field name
+         * @param propertyNode the property node reported on a violation, e.g. "PurchaseOrder.description"
+         * @param legal        true if the field is annotated with {@link UnprintableCharactersAllowLegal}
+         * @param reader       reads the field
+         */
+        void addString(String name, String propertyNode, boolean legal, FieldReader reader);
+
+        /**
+         * A field holding Strings, a collection, an array, a map or an Optional, which have to be validated. Fields
+         * annotated with {@link UnprintableCharactersSkip} are not registered.
+         *
+         * @param name         the field name
+         * @param propertyNode the property node of the field, the index or key of an element is appended to it
+         * @param legal        true if the field is annotated with {@link UnprintableCharactersAllowLegal}
+         * @param container    how the field holds its Strings
+         * @param reader       reads the field
+         */
+        void addStrings(String name, String propertyNode, boolean legal, StringContainer container,
+                        FieldReader reader);
+
+        /**
+         * A field holding Strings annotated with {@link UnprintableCharactersSkip}.
+         *
+         * @param name the field name
+         */
+        void addSkipped(String name);
+
+        /**
+         * The named policy of a field registered by {@link #addString} or {@link #addStrings}, when it is annotated
+         * with {@link UnprintableCharactersPolicy}.
+         *
+         * @param name   the field name
+         * @param policy the policy name
+         */
+        void addPolicy(String name, String policy);
+
+        /**
+         * A field holding objects of a type annotated with {@link UnprintableCharacters}, visited in deep mode. Fields
+         * annotated with {@link UnprintableCharactersSkip} are not registered.
+         *
+         * @param name      the field name, which is the property node of the nested objects
+         * @param container how the field holds the objects, only map values are nested
+         * @param reader    reads the field
+         */
+        void addNested(String name, StringContainer container, FieldReader reader);
+
+        /**
+         * Any other field which may be referenced as an identifier field.
+         *
+         * @param name   the field name
+         * @param reader reads the field
+         */
+        void addReader(String name, FieldReader reader);
+
+        /**
+         * Writes a String field registered by {@link #addString}, for the sanitizer. Not registered when the field can
+         * only be written through reflection.
+         *
+         * @param name   the field name
+         * @param writer writes the field
+         */
+        void addWriter(String name, FieldWriter writer);
+    }
+}
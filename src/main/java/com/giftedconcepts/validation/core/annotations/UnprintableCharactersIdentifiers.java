@@ -0,0 +1,39 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads the {@link UnprintableCharacters#identifierFields()} of an object, through the same cached readers as the
+ * validator.
+ */
+public final class UnprintableCharactersIdentifiers {
+
+    private UnprintableCharactersIdentifiers() {
+    }
+
+    /**
+     * @param object an object, usually annotated with {@link UnprintableCharacters}
+     * @return the identifier field names and values, in the order of the annotation. A field which is not declared by
+     * the class is mapped to null. Empty if the class is not annotated.
+     */
+    public static Map<String, Object> read(final Object object) {
+        if (!object.getClass().isAnnotationPresent(UnprintableCharacters.class)) {
+            return Collections.emptyMap();
+        }
+        final UnprintableCharactersMetadata metadata = UnprintableCharactersMetadata.forClass(object.getClass());
+        final String[] identifierFields = metadata.getIdentifierFields();
+        if (identifierFields.length == 0) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, Object> identifiers = new LinkedHashMap<>();
+        for (final String identifierField : identifierFields) {
+            final FieldReader reader = metadata.getReader(identifierField);
+            identifiers.put(identifierField, reader == null ? null : reader.read(object));
+        }
+
+        return identifiers;
+    }
+}
@@ -0,0 +1,439 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Field metadata for a class validated by {@link UnprintableCharactersValidator}. The fields holding Strings (String,
+ * collections, arrays, maps and Optional, see {@link StringContainer}) are classified (skip, legal or base) and given a
+ * reader once per class, so validation only has to read the values and scan them.
+ * The readers come from the class generated by the annotation processor when there is one, otherwise from reflection.
+ * The fields of the superclasses come first, from the metadata of the superclass.
+ */
+@Slf4j
+final class UnprintableCharactersMetadata {
+
+    private static final MethodType READER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<UnprintableCharactersMetadata> CACHE =
+            new ClassValue<UnprintableCharactersMetadata>() {
+                @Override
+                protected UnprintableCharactersMetadata computeValue(final Class<?> type) {
+                    return create(type);
+                }
+            };
+
+    private final StringField[] stringFields;
+    private final NestedField[] nestedFields;
+    private final Map<String, FieldReader> readers;
+    private final boolean generated;
+    private final int legalFieldCount;
+    private final int skippedFieldCount;
+    private final String[] identifierFields;
+    private final String identifierFieldsMessage;
+
+    private UnprintableCharactersMetadata(final Class<?> clazz, final Builder builder, final boolean generated) {
+        for (final StringField stringField : builder.stringFields) {
+            if (stringField.writer != null) {
+                /* Inherited from the superclass */
+                continue;
+            }
+            stringField.policyName = builder.policies.get(stringField.name);
+            final FieldWriter writer = builder.writers.get(stringField.name);
+            /* A generated accessor registers no writer when the field has no setter */
+            stringField.writer = writer != null ? writer : new ReflectiveFieldWriter(clazz, stringField.name);
+        }
+        this.stringFields = builder.stringFields.toArray(new StringField[0]);
+        this.nestedFields = builder.nestedFields.toArray(new NestedField[0]);
+        this.readers = Collections.unmodifiableMap(builder.readers);
+        this.generated = generated;
+        this.legalFieldCount = (int) builder.stringFields.stream().filter(StringField::isLegal).count();
+        this.skippedFieldCount = builder.skippedFieldCount;
+        final UnprintableCharacters annotation = clazz.getAnnotation(UnprintableCharacters.class);
+        this.identifierFields = annotation == null ? new String[0] : annotation.identifierFields();
+        this.identifierFieldsMessage = annotation == null ? "" : annotation.identifierFieldsMessage();
+    }
+
+    static UnprintableCharactersMetadata forClass(final Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    /**
+     * @return the fields holding Strings which have to be scanned, in declaration order. Skipped fields are not
+     * included.
+     */
+    StringField[] getStringFields() {
+        return stringFields;
+    }
+
+    /**
+     * @return the fields holding objects of annotated types, visited in deep mode, in declaration order.
+     */
+    NestedField[] getNestedFields() {
+        return nestedFields;
+    }
+
+    /**
+     * @param fieldName name of a field declared by the class or one of its superclasses
+     * @return the reader for the field, or null if the class does not declare it.
+     */
+    FieldReader getReader(final String fieldName) {
+        return readers.get(fieldName);
+    }
+
+    /**
+     * @return the identifierFields of the {@link UnprintableCharacters} annotation on the class, empty if there is none.
+     */
+    String[] getIdentifierFields() {
+        return identifierFields;
+    }
+
+    /**
+     * @return the identifierFieldsMessage of the {@link UnprintableCharacters} annotation on the class, empty if there
+     * is none.
+     */
+    String getIdentifierFieldsMessage() {
+        return identifierFieldsMessage;
+    }
+
+    int getBaseFieldCount() {
+        return stringFields.length - legalFieldCount;
+    }
+
+    int getLegalFieldCount() {
+        return legalFieldCount;
+    }
+
+    /**
+     * @return the number of fields holding Strings annotated with {@link UnprintableCharactersSkip}.
+     */
+    int getSkippedFieldCount() {
+        return skippedFieldCount;
+    }
+
+    /**
+     * @return true if the fields declared by the class are read through a generated
+     * {@link UnprintableCharactersAccessor}.
+     */
+    boolean isGenerated() {
+        return generated;
+    }
+
+    private static UnprintableCharactersMetadata create(final Class<?> clazz) {
+        final UnprintableCharactersAccessor accessor = findGeneratedAccessor(clazz);
+        final Builder builder = new Builder();
+        final Class<?> superclass = clazz.getSuperclass();
+        /* The JDK classes have nothing to validate and their fields cannot be made accessible */
+        if (superclass != null && superclass != Object.class && !superclass.getName().startsWith("java.")) {
+            builder.inherit(forClass(superclass));
+        }
+        if (accessor != null) {
+            accessor.describe(builder);
+            return new UnprintableCharactersMetadata(clazz, builder, true);
+        }
+
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (final Field field : clazz.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                continue;
+            }
+            /* Setting the fields as accessible in order to read the values */
+            field.setAccessible(true);
+            final FieldReader reader = new MethodHandleFieldReader(unreflectGetter(lookup, field));
+            final StringContainer container = StringContainer.of(field.getType(), field.getGenericType());
+
+            /* A map may hold String keys and nested values */
+            final StringContainer nested = StringContainer.ofNested(field.getType(), field.getGenericType());
+            if (nested != null && field.getAnnotation(UnprintableCharactersSkip.class) == null) {
+                builder.addNested(field.getName(), nested, reader);
+            }
+
+            /* We only care about fields holding Strings for this validation, and nested objects in deep mode */
+            if (container == null) {
+                builder.addReader(field.getName(), reader);
+            } else if (field.getAnnotation(UnprintableCharactersSkip.class) != null) {
+                builder.addSkipped(field.getName());
+                builder.addReader(field.getName(), reader);
+            } else {
+                /* Fields that have legal implications should be marked by the Legal annotation */
+                final boolean legal = field.getAnnotation(UnprintableCharactersAllowLegal.class) != null;
+                builder.addStrings(field.getName(), createPropertyNode(field), legal, container, reader);
+                final UnprintableCharactersPolicy policy = field.getAnnotation(UnprintableCharactersPolicy.class);
+                if (policy != null) {
+                    builder.addPolicy(field.getName(), policy.value());
+                }
+            }
+        }
+
+        return new UnprintableCharactersMetadata(clazz, builder, false);
+    }
+
+    private static UnprintableCharactersAccessor findGeneratedAccessor(final Class<?> clazz) {
+        final String accessorClassName = UnprintableCharactersAccessor.accessorClassName(clazz.getName());
+        try {
+            final Class<?> accessorClass = Class.forName(accessorClassName, true, clazz.getClassLoader());
+            if (UnprintableCharactersAccessor.class.isAssignableFrom(accessorClass)) {
+                return (UnprintableCharactersAccessor) accessorClass.getDeclaredConstructor().newInstance();
+            }
+        } catch (final ClassNotFoundException e) {
+            log.debug("No generated accessor for {}, falling back to reflection.", clazz.getName());
+        } catch (final ReflectiveOperationException | LinkageError e) {
+            log.warn("Unable to use the generated accessor {}, falling back to reflection.", accessorClassName, e);
+        }
+
+        return null;
+    }
+
+    private static MethodHandle unreflectGetter(final MethodHandles.Lookup lookup, final Field field) {
+        try {
+            return lookup.unreflectGetter(field).asType(READER_TYPE);
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException("Unable to access field " + field, e);
+        }
+    }
+
+    private static String createPropertyNode(final Field field) {
+
+        final String declaringClass = StringUtils.substringAfterLast(String.valueOf(field.getDeclaringClass()), ".");
+        return declaringClass + "." + field.getName();
+    }
+
+    private static final class Builder implements UnprintableCharactersAccessor.Fields {
+
+        private final List<StringField> stringFields = new ArrayList<>();
+        private final List<NestedField> nestedFields = new ArrayList<>();
+        private final Map<String, FieldReader> readers = new HashMap<>();
+        private final Map<String, FieldWriter> writers = new HashMap<>();
+        private final Map<String, String> policies = new HashMap<>();
+        private int skippedFieldCount;
+
+        private void inherit(final UnprintableCharactersMetadata superclass) {
+            stringFields.addAll(Arrays.asList(superclass.stringFields));
+            nestedFields.addAll(Arrays.asList(superclass.nestedFields));
+            readers.putAll(superclass.readers);
+            skippedFieldCount += superclass.skippedFieldCount;
+        }
+
+        @Override
+        public void addString(final String name, final String propertyNode, final boolean legal,
+                              final FieldReader reader) {
+            addStrings(name, propertyNode, legal, StringContainer.NONE, reader);
+        }
+
+        @Override
+        public void addStrings(final String name, final String propertyNode, final boolean legal,
+                               final StringContainer container, final FieldReader reader) {
+            stringFields.add(new StringField(name, propertyNode, legal, container, reader));
+            readers.put(name, reader);
+        }
+
+        @Override
+        public void addSkipped(final String name) {
+            ++skippedFieldCount;
+        }
+
+        @Override
+        public void addPolicy(final String name, final String policy) {
+            policies.put(name, policy);
+        }
+
+        @Override
+        public void addNested(final String name, final StringContainer container, final FieldReader reader) {
+            nestedFields.add(new NestedField(name, container, reader));
+            readers.put(name, reader);
+        }
+
+        @Override
+        public void addReader(final String name, final FieldReader reader) {
+            readers.put(name, reader);
+        }
+
+        @Override
+        public void addWriter(final String name, final FieldWriter writer) {
+            writers.put(name, writer);
+        }
+    }
+
+    /**
+     * Writes a single field through a {@link MethodHandle} resolved on the first write, as only the sanitizer writes.
+     */
+    private static final class ReflectiveFieldWriter implements FieldWriter {
+
+        private static final MethodType WRITER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+        private final Class<?> declaringClass;
+        private final String fieldName;
+        private volatile MethodHandle setter;
+
+        private ReflectiveFieldWriter(final Class<?> declaringClass, final String fieldName) {
+            this.declaringClass = declaringClass;
+            this.fieldName = fieldName;
+        }
+
+        @Override
+        public void write(final Object object, final Object value) {
+            MethodHandle resolved = setter;
+            if (resolved == null) {
+                resolved = resolve();
+                setter = resolved;
+            }
+            try {
+                resolved.invokeExact(object, value);
+            } catch (final RuntimeException | Error e) {
+                throw e;
+            } catch (final Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        private MethodHandle resolve() {
+            try {
+                final Field field = declaringClass.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                return MethodHandles.lookup().unreflectSetter(field).asType(WRITER_TYPE);
+            } catch (final NoSuchFieldException | IllegalAccessException e) {
+                throw new IllegalStateException("Unable to write field " + fieldName + " of " + declaringClass, e);
+            }
+        }
+    }
+
+    /**
+     * Reads a single field through a {@link MethodHandle} resolved when the metadata was built.
+     */
+    private static final class MethodHandleFieldReader implements FieldReader {
+
+        private final MethodHandle getter;
+
+        private MethodHandleFieldReader(final MethodHandle getter) {
+            this.getter = getter;
+        }
+
+        @Override
+        public Object read(final Object object) {
+            try {
+                return (Object) getter.invokeExact(object);
+            } catch (final RuntimeException | Error e) {
+                throw e;
+            } catch (final Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+    }
+
+    /**
+     * A field holding objects of an annotated type, visited in deep mode.
+     */
+    static final class NestedField {
+
+        private final String name;
+        private final StringContainer container;
+        private final FieldReader reader;
+
+        private NestedField(final String name, final StringContainer container, final FieldReader reader) {
+            this.name = name;
+            this.container = container;
+            this.reader = reader;
+        }
+
+        /**
+         * @return the field name, the property node of the nested objects, e.g. "purchaseOrderLineItems".
+         */
+        String getName() {
+            return name;
+        }
+
+        StringContainer getContainer() {
+            return container;
+        }
+
+        Object read(final Object object) {
+            return reader.read(object);
+        }
+    }
+
+    /**
+     * A field holding Strings which is subject to validation.
+     */
+    static final class StringField {
+
+        private final String name;
+        private final String propertyNode;
+        private final boolean legal;
+        private final StringContainer container;
+        private final FieldReader reader;
+        private FieldWriter writer;
+        private String policyName;
+
+        private StringField(final String name, final String propertyNode, final boolean legal,
+                            final StringContainer container, final FieldReader reader) {
+            this.name = name;
+            this.propertyNode = propertyNode;
+            this.legal = legal;
+            this.container = container;
+            this.reader = reader;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        /**
+         * @return the property node reported on a violation, e.g. "PurchaseOrder.description".
+         */
+        String getPropertyNode() {
+            return propertyNode;
+        }
+
+        boolean isLegal() {
+            return legal;
+        }
+
+        /**
+         * @return the name of the policy selected by {@link UnprintableCharactersPolicy}, null for the base or the
+         * legal policy.
+         */
+        String getPolicyName() {
+            return policyName;
+        }
+
+        /**
+         * @return {@link StringContainer#NONE} for a String field.
+         */
+        StringContainer getContainer() {
+            return container;
+        }
+
+        /**
+         * @return the value of a String field, see {@link #readValue} for the other containers.
+         */
+        String read(final Object object) {
+            return (String) reader.read(object);
+        }
+
+        /**
+         * @return the value of the field, whatever its container.
+         */
+        Object readValue(final Object object) {
+            return reader.read(object);
+        }
+
+        /**
+         * Writes a String field, containers are never written.
+         */
+        void write(final Object object, final String value) {
+            writer.write(object, value);
+        }
+    }
+}
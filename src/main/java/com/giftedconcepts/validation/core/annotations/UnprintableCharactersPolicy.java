@@ -0,0 +1,18 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Validates the field with a named policy of the com.giftedconcepts.validate.annotation.policies configuration
+ * instead of the base policy, or the legal one when the field is annotated with {@link UnprintableCharactersAllowLegal}
+ * as well.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UnprintableCharactersPolicy {
+
+    /**
+     * @return the policy name.
+     */
+    String value();
+}
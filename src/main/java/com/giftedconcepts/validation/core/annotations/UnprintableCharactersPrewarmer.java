@@ -0,0 +1,154 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import com.giftedconcepts.validation.core.annotations.UnprintableCharactersMetadata.StringField;
+import com.giftedconcepts.validation.core.config.ApplicationProperties;
+import com.giftedconcepts.validation.core.config.ValidationSnapshots;
+import com.giftedconcepts.validation.core.policy.CharacterPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.lang.reflect.Constructor;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The opt-in startup phase enabled by com.giftedconcepts.validate.annotation.prewarm.enabled. The types annotated with
+ * {@link UnprintableCharacters} under {@code prewarm.basePackages} get their field metadata and their Hibernate
+ * Validator bean metadata built before the first request, instead of by it.
+ * <p>
+ * With {@code prewarm.warmUpIterations} the types which have a no-arg constructor are then validated that many times
+ * with clean synthetic values, and every policy scans them, so the hot paths are compiled by the JIT as well. The
+ * runner is done before the application reports ready, the readiness probe waits for it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "com.giftedconcepts.validate.annotation.prewarm", name = "enabled",
+        havingValue = "true")
+public class UnprintableCharactersPrewarmer implements ApplicationRunner {
+
+    /* Shorter than the cleanValues.minimumLength default, so the warm-up values are scanned, not cached */
+    private static final String SYNTHETIC_VALUE = "Synthetic warm-up value 0123456789 ~!@#$%^&*()_+ ABCDEFGHIJKLMNOP";
+
+    private final Validator validator;
+    private final ValidationSnapshots validationSnapshots;
+    private final ApplicationProperties.Prewarm prewarm;
+
+    public UnprintableCharactersPrewarmer(final ValidatorFactory validatorFactory,
+                                          final ValidationSnapshots validationSnapshots,
+                                          final ApplicationProperties applicationProperties) {
+        this.validator = validatorFactory.getValidator();
+        this.validationSnapshots = validationSnapshots;
+        this.prewarm = applicationProperties.getPrewarm();
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) {
+        prewarm();
+    }
+
+    /**
+     * @return the number of types prepared.
+     */
+    public int prewarm() {
+        final long startNanos = System.nanoTime();
+        final Set<Class<?>> types = scan(prewarm.getBasePackages());
+
+        for (final Class<?> type : types) {
+            UnprintableCharactersMetadata.forClass(type);
+            validator.getConstraintsForClass(type);
+        }
+        final long preparedNanos = System.nanoTime();
+
+        int validations = 0;
+        if (prewarm.getWarmUpIterations() > 0) {
+            validations = warmUp(types, prewarm.getWarmUpIterations());
+        }
+
+        log.info("Prepared {} @UnprintableCharacters types in {} ms, {} warm-up validations in {} ms.", types.size(),
+                TimeUnit.NANOSECONDS.toMillis(preparedNanos - startNanos), validations,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - preparedNanos));
+
+        return types.size();
+    }
+
+    private static Set<Class<?>> scan(final List<String> basePackages) {
+        final ClassPathScanningCandidateComponentProvider scanner =
+                new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(UnprintableCharacters.class));
+
+        final Set<Class<?>> types = new LinkedHashSet<>();
+        for (final String basePackage : basePackages) {
+            for (final BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                try {
+                    types.add(ClassUtils.forName(candidate.getBeanClassName(),
+                            UnprintableCharactersPrewarmer.class.getClassLoader()));
+                } catch (final ClassNotFoundException | LinkageError e) {
+                    log.warn("Unable to load {} for the warm-up: {}", candidate.getBeanClassName(), e.getMessage());
+                }
+            }
+        }
+
+        return types;
+    }
+
+    private int warmUp(final Set<Class<?>> types, final int iterations) {
+        int validations = 0;
+
+        for (final Class<?> type : types) {
+            final Object object = newSyntheticInstance(type);
+            if (object == null) {
+                continue;
+            }
+            for (int i = 0; i < iterations; ++i) {
+                validator.validate(object);
+            }
+            validations += iterations;
+        }
+        for (final CharacterPolicy policy : validationSnapshots.get().getPolicies().getPolicies().values()) {
+            for (int i = 0; i < iterations; ++i) {
+                policy.indexOfViolation(SYNTHETIC_VALUE, 0);
+            }
+        }
+
+        return validations;
+    }
+
+    /**
+     * @return an instance with every String field set to the synthetic value, or null if the type has no no-arg
+     * constructor.
+     */
+    private static Object newSyntheticInstance(final Class<?> type) {
+        final Object object;
+        try {
+            final Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            object = constructor.newInstance();
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            log.debug("{} has no usable no-arg constructor, it is not validated by the warm-up.", type.getName());
+            return null;
+        }
+        for (final StringField field : UnprintableCharactersMetadata.forClass(type).getStringFields()) {
+            if (field.getContainer() != StringContainer.NONE) {
+                continue;
+            }
+            try {
+                field.write(object, SYNTHETIC_VALUE);
+            } catch (final RuntimeException e) {
+                log.debug("{}.{} is left unset by the warm-up.", type.getName(), field.getName());
+            }
+        }
+
+        return object;
+    }
+}
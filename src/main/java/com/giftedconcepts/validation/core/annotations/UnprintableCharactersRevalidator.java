@@ -0,0 +1,241 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import com.giftedconcepts.validation.core.config.ApplicationProperties;
+import com.giftedconcepts.validation.core.config.ValidationSnapshot;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.springframework.stereotype.Component;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.lang.ref.WeakReference;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validates an object again after some of its fields changed, e.g. after a PATCH, scanning only the String fields
+ * whose value changed since they were last found clean. The other constraints of the object are validated as usual.
+ * <p>
+ * For each validated object, nested objects included, the fingerprints of the String fields found clean are kept in a
+ * bounded store, by identity, or by the values of its identifierFields when it declares them, so an object
+ * deserialized again from the same resource is recognized. A field is not scanned again when it holds the same String
+ * instance, or a value with the same fingerprint, as when it was found clean. The fingerprint is a SipHash-2-4 with a
+ * random key, so a value colliding with a clean one cannot be crafted. A field which failed is always scanned again,
+ * to report its violation, and so are the collection, map and Optional fields.
+ * <p>
+ * The fingerprints are only valid for the configuration they were taken with: those of another snapshot, or of
+ * another tenant, are dropped on the next validation of the object. {@link #invalidateAll()} clears the store.
+ */
+@Component
+public class UnprintableCharactersRevalidator {
+
+    private static final ThreadLocal<Revalidation> CURRENT = new ThreadLocal<>();
+
+    private final Validator validator;
+    private final HashFunction fingerprint;
+    private final Cache<Object, FieldFingerprints> byIdentity;
+    private final Cache<List<Object>, FieldFingerprints> byIdentifiers;
+
+    public UnprintableCharactersRevalidator(final ValidatorFactory validatorFactory,
+                                            final ApplicationProperties applicationProperties) {
+        final ApplicationProperties.Incremental incremental = applicationProperties.getIncremental();
+        final SecureRandom random = new SecureRandom();
+        this.validator = validatorFactory.getValidator();
+        this.fingerprint = Hashing.sipHash24(random.nextLong(), random.nextLong());
+        /* Weak keys compare by identity */
+        this.byIdentity = cacheBuilder(incremental).weakKeys().build();
+        this.byIdentifiers = cacheBuilder(incremental).build();
+    }
+
+    private static CacheBuilder<Object, Object> cacheBuilder(final ApplicationProperties.Incremental incremental) {
+        final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(0L, incremental.getMaximumSize()));
+        final Duration expireAfterAccess = incremental.getExpireAfterAccess();
+        if (expireAfterAccess != null && !expireAfterAccess.isZero() && !expireAfterAccess.isNegative()) {
+            builder.expireAfterAccess(expireAfterAccess);
+        }
+
+        return builder;
+    }
+
+    /**
+     * @param object the object to validate
+     * @return the violations, as {@link Validator#validate} returns them, and the counts of fields reused and
+     * scanned again.
+     */
+    public <T> RevalidationResult<T> validate(final T object) {
+        final Revalidation revalidation = new Revalidation();
+        final Revalidation previous = CURRENT.get();
+        CURRENT.set(revalidation);
+        final Set<ConstraintViolation<T>> violations;
+        try {
+            violations = validator.validate(object);
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+
+        return new RevalidationResult<>(violations, revalidation.reusedFields, revalidation.rescannedFields);
+    }
+
+    /**
+     * Forgets the fingerprints of every object, every field is scanned on the next validation.
+     */
+    public void invalidateAll() {
+        byIdentity.invalidateAll();
+        byIdentifiers.invalidateAll();
+    }
+
+    /**
+     * @return the number of objects whose fingerprints are kept.
+     */
+    public long size() {
+        return byIdentity.size() + byIdentifiers.size();
+    }
+
+    /**
+     * @return the fingerprints of the object for the running revalidation, null when no revalidation runs on this
+     * thread.
+     */
+    static FieldVerdicts verdicts(final Object object, final UnprintableCharactersMetadata metadata,
+                                  final ValidationSnapshot snapshot) {
+        final Revalidation revalidation = CURRENT.get();
+        if (revalidation == null) {
+            return null;
+        }
+
+        return new FieldVerdicts(revalidation, revalidation.fingerprints(object, metadata, snapshot));
+    }
+
+    private final class Revalidation {
+
+        private int reusedFields;
+        private int rescannedFields;
+
+        private FieldFingerprints fingerprints(final Object object, final UnprintableCharactersMetadata metadata,
+                                               final ValidationSnapshot snapshot) {
+            final List<Object> identifiers = identifiersKey(object, metadata);
+            final Cache<Object, FieldFingerprints> store = identifiers == null ? byIdentity : null;
+            FieldFingerprints fingerprints = store != null ? store.getIfPresent(object)
+                    : byIdentifiers.getIfPresent(identifiers);
+            /* Taken under another configuration, or for another class with the same identifiers */
+            if (fingerprints == null || fingerprints.snapshot != snapshot || fingerprints.type != object.getClass()) {
+                fingerprints = new FieldFingerprints(object.getClass(), snapshot, metadata.getStringFields().length);
+                if (store != null) {
+                    store.put(object, fingerprints);
+                } else {
+                    byIdentifiers.put(identifiers, fingerprints);
+                }
+            }
+
+            return fingerprints;
+        }
+    }
+
+    /**
+     * @return the class and the identifier values of the object, or null if it has none or one of them is null.
+     */
+    private static List<Object> identifiersKey(final Object object, final UnprintableCharactersMetadata metadata) {
+        if (metadata.getIdentifierFields().length == 0) {
+            return null;
+        }
+        final Map<String, Object> identifiers = UnprintableCharactersIdentifiers.read(object);
+        if (identifiers.isEmpty() || identifiers.containsValue(null)) {
+            return null;
+        }
+
+        return Arrays.asList(object.getClass(), identifiers);
+    }
+
+    /**
+     * The String fields of an object found clean, by index in {@link UnprintableCharactersMetadata#getStringFields()}.
+     * Shared by the revalidations of the object, which may run on several threads.
+     */
+    private final class FieldFingerprints {
+
+        private final Class<?> type;
+        private final ValidationSnapshot snapshot;
+        private final WeakReference<?>[] values;
+        private final long[] fingerprints;
+
+        private FieldFingerprints(final Class<?> type, final ValidationSnapshot snapshot, final int fieldCount) {
+            this.type = type;
+            this.snapshot = snapshot;
+            this.values = new WeakReference<?>[fieldCount];
+            this.fingerprints = new long[fieldCount];
+        }
+
+        private synchronized boolean isClean(final int field, final String value) {
+            final WeakReference<?> clean = values[field];
+            if (clean == null) {
+                return false;
+            }
+            if (clean.get() == value) {
+                return true;
+            }
+            if (fingerprints[field] == fingerprint.hashUnencodedChars(value).asLong()) {
+                /* The next revalidation of this instance is a reference comparison */
+                values[field] = new WeakReference<>(value);
+                return true;
+            }
+
+            return false;
+        }
+
+        private synchronized void record(final int field, final String value, final boolean clean) {
+            if (clean) {
+                values[field] = new WeakReference<>(value);
+                fingerprints[field] = fingerprint.hashUnencodedChars(value).asLong();
+            } else {
+                values[field] = null;
+            }
+        }
+    }
+
+    /**
+     * The fingerprints of one object during one revalidation, which counts the fields reused and scanned again.
+     */
+    static final class FieldVerdicts {
+
+        private final Revalidation revalidation;
+        private final FieldFingerprints fingerprints;
+
+        private FieldVerdicts(final Revalidation revalidation, final FieldFingerprints fingerprints) {
+            this.revalidation = revalidation;
+            this.fingerprints = fingerprints;
+        }
+
+        /**
+         * @param field the index of the String field
+         * @param value its value, not null
+         * @return true if the value was found clean by an earlier validation, it does not need to be scanned.
+         */
+        boolean isClean(final int field, final String value) {
+            if (fingerprints.isClean(field, value)) {
+                ++revalidation.reusedFields;
+                return true;
+            }
+            ++revalidation.rescannedFields;
+            return false;
+        }
+
+        /**
+         * @param field the index of the String field
+         * @param value its scanned value, not null
+         * @param clean true if it passed the validation
+         */
+        void record(final int field, final String value, final boolean clean) {
+            fingerprints.record(field, value, clean);
+        }
+    }
+}
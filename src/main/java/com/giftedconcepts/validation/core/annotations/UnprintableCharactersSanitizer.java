@@ -0,0 +1,120 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import com.giftedconcepts.validation.core.annotations.UnprintableCharactersMetadata.StringField;
+import com.giftedconcepts.validation.core.config.ApplicationProperties;
+import com.giftedconcepts.validation.core.config.ValidationSnapshots;
+import com.giftedconcepts.validation.core.policy.CharacterPolicy;
+import com.giftedconcepts.validation.core.policy.CharacterPolicyRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The companion of {@link UnprintableCharactersValidator} which repairs an object instead of rejecting it: the
+ * offending characters of its String fields are removed, or replaced with the configured replacement. The same
+ * policies apply, the base policy to the fields, the legal one to the fields annotated with
+ * {@link UnprintableCharactersAllowLegal}, a named one to the fields annotated with
+ * {@link UnprintableCharactersPolicy}, and the fields annotated with {@link UnprintableCharactersSkip} are left
+ * alone.
+ * <p>
+ * A violation is replaced as a whole: one code point for a lookup table policy, the whole match of an unprintable
+ * regex which matches several characters, e.g. a CR LF pair gets a single replacement.
+ * <p>
+ * Every value is scanned once. A value with nothing to fix is not copied, and its field is not written. A replacement
+ * which the policy of a field does not allow is rejected before any field is written, the sanitized value would fail
+ * the validation.
+ */
+@Slf4j
+@Component
+public class UnprintableCharactersSanitizer {
+
+    private final ValidationSnapshots validationSnapshots;
+    private final String replacement;
+
+    public UnprintableCharactersSanitizer(final ValidationSnapshots validationSnapshots,
+                                          final ApplicationProperties applicationProperties) {
+        this.validationSnapshots = validationSnapshots;
+        this.replacement = applicationProperties.getSanitizer().getReplacement();
+        /* Every field without a policy annotation uses the base policy, a replacement it rejects is never usable */
+        checkReplacement(replacement, validationSnapshots.get().getPolicies().get(CharacterPolicyRegistry.BASE),
+                CharacterPolicyRegistry.BASE);
+    }
+
+    /**
+     * Sanitizes the object with the configured replacement.
+     *
+     * @param object the object to sanitize, its String fields are rewritten in place
+     * @return the fields which were rewritten.
+     */
+    public SanitizationResult sanitize(final Object object) {
+        return sanitize(object, replacement);
+    }
+
+    /**
+     * @param object      the object to sanitize, its String fields are rewritten in place
+     * @param replacement replaces every violation, the characters are removed when empty
+     * @return the fields which were rewritten.
+     * @throws IllegalArgumentException if the policy of a String field does not allow the replacement
+     */
+    public SanitizationResult sanitize(final Object object, final String replacement) {
+        final UnprintableCharactersMetadata metadata = UnprintableCharactersMetadata.forClass(object.getClass());
+        final CharacterPolicyRegistry policies = validationSnapshots.current().getPolicies();
+        if (!replacement.isEmpty()) {
+            for (final StringField field : metadata.getStringFields()) {
+                if (field.getContainer() == StringContainer.NONE) {
+                    checkReplacement(replacement, policies.select(field.getPolicyName(), field.isLegal()),
+                            field.getPropertyNode());
+                }
+            }
+        }
+        List<SanitizedField> changedFields = null;
+
+        for (final StringField field : metadata.getStringFields()) {
+            if (field.getContainer() != StringContainer.NONE) {
+                /* Collections, maps and Optional may well be immutable, only String fields are rewritten */
+                continue;
+            }
+            final String value = field.read(object);
+            if (value == null) {
+                continue;
+            }
+            final CharacterPolicy policy = policies.select(field.getPolicyName(), field.isLegal());
+            int i = policy.indexOfViolation(value, 0);
+            if (i < 0) {
+                continue;
+            }
+
+            final StringBuilder sanitized = new StringBuilder(value.length());
+            int from = 0;
+            int replacedCharacters = 0;
+            while (i >= 0) {
+                sanitized.append(value, from, i).append(replacement);
+                /* The scan resumes after the violation, so the value is scanned once */
+                from = policy.endOfViolation(value, i);
+                replacedCharacters += value.codePointCount(i, from);
+                i = policy.indexOfViolation(value, from);
+            }
+            sanitized.append(value, from, value.length());
+
+            field.write(object, sanitized.toString());
+            log.debug("Sanitized {} characters of {}.", replacedCharacters, field.getPropertyNode());
+            if (changedFields == null) {
+                changedFields = new ArrayList<>();
+            }
+            changedFields.add(new SanitizedField(field.getName(), field.getPropertyNode(), replacedCharacters));
+        }
+
+        return changedFields == null ? SanitizationResult.unchanged() : new SanitizationResult(changedFields);
+    }
+
+    private static void checkReplacement(final String replacement, final CharacterPolicy policy, final String field) {
+        final int i = policy.indexOfViolation(replacement, 0);
+        if (i >= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "The sanitizer replacement contains U+%04X, which the policy of %s does not allow.",
+                    replacement.codePointAt(i), field));
+        }
+    }
+}
@@ -1,169 +1,744 @@
 package com.giftedconcepts.validation.core.annotations;
 
-import com.giftedconcepts.validation.core.config.ApplicationProperties;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharactersMetadata.NestedField;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharactersMetadata.StringField;
+import com.giftedconcepts.validation.core.config.ValidationSnapshot;
+import com.giftedconcepts.validation.core.config.ValidationSnapshots;
+import com.giftedconcepts.validation.core.metrics.ValidationMetrics;
+import com.giftedconcepts.validation.core.metrics.ValidationMetrics.Path;
+import com.giftedconcepts.validation.core.policy.CharacterPolicy;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorContext;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
+import javax.validation.ConstraintValidatorContext.ConstraintViolationBuilder;
+import javax.validation.ConstraintValidatorContext.ConstraintViolationBuilder.NodeBuilderCustomizableContext;
+import javax.validation.ConstraintValidatorContext.ConstraintViolationBuilder.NodeBuilderDefinedContext;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class UnprintableCharactersValidator implements ConstraintValidator<UnprintableCharacters, Object> {
 
     public static final String FIELD_HAS_FAILED_VALIDATION_MSG = "Field %s has special characters which failed validation.";
     public static final String IDENTIFIER_FIELD_MSG = "The identifying field value: %s";
-    private static final String REGEX_ANY_CHARACTER = "(.*)";
+    public static final String FIELD_EXCEEDS_MAX_LENGTH_MSG = "Field %s exceeds the maximum length of %d characters.";
+    public static final String FIELD_EXCEEDS_SCAN_BUDGET_MSG = "Field %s exceeds the scan budget of the validation.";
     private String[] identifierFields;
     private String identifierFieldsMessage;
+    private UnprintableCharacters.FailFast failFast;
+    private boolean deep;
     @Autowired
-    private ApplicationProperties applicationProperties;
+    private ValidationSnapshots validationSnapshots;
     @Autowired
-    private List<Character> allowedLegalCharacters;
+    private ValidationMetrics validationMetrics;
 
     @Override
     public void initialize(final UnprintableCharacters constraintAnnotation) {
         ConstraintValidator.super.initialize(constraintAnnotation);
         identifierFields = constraintAnnotation.identifierFields();
         identifierFieldsMessage = constraintAnnotation.identifierFieldsMessage();
+        failFast = constraintAnnotation.failFast();
+        deep = constraintAnnotation.deep();
     }
 
     @Override
     public boolean isValid(final Object object, final ConstraintValidatorContext context) {
 
         boolean isValid = true;
+        final boolean timed = validationMetrics.isTimed();
+        final long startNanos = timed ? System.nanoTime() : 0L;
+        UnprintableCharactersMetadata metadata = null;
+        Tally tally = null;
 
         try {
-            /* get the class of the annotated object */
-            final Class<?> clazz = object.getClass();
-            /* Get the list of fields in the Object */
-            final Field[] allFields = clazz.getDeclaredFields();
-            for (final Field field : allFields) {
-                /* Setting the fields as accessible in order to view the metadata */
-                field.setAccessible(true);
-                /* We only care about String.class for this validation */
-                if (field.getType().equals(String.class)) {
-                    final boolean isValidCheck;
-                    if (isAnnotatedBy(field.getAnnotation(UnprintableCharactersSkip.class))) {
-                        /* Skippable */
-                        isValidCheck = true;
-                    } else if (isAnnotatedBy(field.getAnnotation(UnprintableCharactersAllowLegal.class))) {
-                        /* Fields that have legal implications should be marked by the Legal annotation */
-                        isValidCheck = handleLegalValidation(field, context, object);
-                    } else {
-                        isValidCheck = handleBaseValidation(field, context, object);
-                    }
-                    isValid = isValidCheck && isValid;
-                }
+            /* Read once, the whole validation sees the same version of the configuration */
+            final ValidationSnapshot snapshot = validationSnapshots.current();
+            tally = timed || snapshot.isBudgeted() ? new Tally(snapshot) : null;
+            /* get the cached metadata for the class of the annotated object */
+            metadata = UnprintableCharactersMetadata.forClass(object.getClass());
+            isValid = validateFields(object, metadata, context, null, snapshot, tally);
+            if (deep && (isValid || !isFailFast(snapshot)) && metadata.getNestedFields().length > 0) {
+                final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+                visited.add(object);
+                isValid = validateNested(object, metadata, context, null, 1, visited, snapshot, tally) && isValid;
             }
         } catch (final Exception e) {
             log.error(e.getMessage());
             isValid = false;
         }
 
+        if (timed && metadata != null) {
+            final long elapsedNanos = System.nanoTime() - startNanos;
+            if (validationMetrics.isEnabled()) {
+                final Class<?> type = object.getClass();
+                validationMetrics.recordValidation(type, elapsedNanos);
+                validationMetrics.recordPath(type, Path.BASE, tally.baseFields, tally.baseCharacters,
+                        tally.baseViolations);
+                validationMetrics.recordPath(type, Path.LEGAL, tally.legalFields, tally.legalCharacters,
+                        tally.legalViolations);
+                validationMetrics.recordPath(type, Path.SKIP, tally.skippedFields, 0, 0);
+            }
+            if (validationMetrics.isSlowAndSampled(elapsedNanos)) {
+                log.warn("Slow unprintable characters validation of {} took {} ms, {} characters scanned, "
+                                + "identifier fields {}.", object.getClass().getName(),
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos), tally.baseCharacters + tally.legalCharacters,
+                        UnprintableCharactersIdentifiers.read(object));
+            }
+        }
+
         return isValid;
     }
 
+    /**
+     * Validates the fields holding Strings of a single object.
+     *
+     * @param object   the annotated object, or a nested object in deep mode
+     * @param metadata the cached metadata of the object's class
+     * @param context  receives the violations
+     * @param path     the path of a nested object, null for the annotated object
+     * @param snapshot the configuration of the validation
+     * @param tally    the counts for the metrics and the scan budget, null when neither is needed
+     * @return true if every field passes the validation.
+     * @throws NoSuchFieldException if an identifier field does not exist
+     */
+    private boolean validateFields(final Object object, final UnprintableCharactersMetadata metadata,
+                                   final ConstraintValidatorContext context, final NodePath path,
+                                   final ValidationSnapshot snapshot, final Tally tally)
+            throws NoSuchFieldException {
+        final boolean failFast = isFailFast(snapshot);
+        final int maxFieldLength = snapshot.getMaxFieldLength();
+        final int maxOffsets = snapshot.getMaxReportedOffsets();
+        boolean isValid = true;
+        if (tally != null) {
+            tally.baseFields += metadata.getBaseFieldCount();
+            tally.legalFields += metadata.getLegalFieldCount();
+            tally.skippedFields += metadata.getSkippedFieldCount();
+        }
+
+        /* Only during an incremental revalidation */
+        final UnprintableCharactersRevalidator.FieldVerdicts verdicts = UnprintableCharactersRevalidator.verdicts(
+                object, metadata, snapshot);
+        final StringField[] fields = metadata.getStringFields();
+        for (int f = 0; f < fields.length; ++f) {
+            final StringField field = fields[f];
+            final boolean isValidCheck;
+            long characters;
+            /* A single lookup per field, the characters are scanned the same way whatever the policy */
+            final CharacterPolicy policy = snapshot.getPolicies().select(field.getPolicyName(), field.isLegal());
+            if (field.getContainer() != StringContainer.NONE) {
+                final Object value = field.readValue(object);
+                characters = tally != null ? containedLength(field.getContainer(), value) : 0L;
+                if (tally != null && !tally.spend(characters)) {
+                    isValidCheck = reportLimit(FieldViolation.Reason.SCAN_BUDGET, field, 0, context, object, metadata,
+                            path);
+                    characters = 0L;
+                } else {
+                    isValidCheck = handleContainerValidation(field, policy, value, context, object, metadata, path,
+                            failFast, maxFieldLength, maxOffsets);
+                }
+            } else {
+                final String stringValue = field.read(object);
+                characters = stringValue == null ? 0 : stringValue.length();
+                /* The limits are checked before the scan, an oversized value is not scanned at all */
+                if (maxFieldLength > 0 && characters > maxFieldLength) {
+                    isValidCheck = reportLimit(FieldViolation.Reason.MAX_LENGTH, field, maxFieldLength, context, object,
+                            metadata, path);
+                    characters = 0L;
+                } else if (tally != null && !tally.spend(characters)) {
+                    isValidCheck = reportLimit(FieldViolation.Reason.SCAN_BUDGET, field, 0, context, object, metadata,
+                            path);
+                    characters = 0L;
+                } else if (verdicts != null && stringValue != null && verdicts.isClean(f, stringValue)) {
+                    /* Found clean by an earlier validation, under the same configuration */
+                    isValidCheck = true;
+                } else {
+                    /* The policy was selected with the field: legal, named or base */
+                    isValidCheck = handleStringValidation(field, policy, stringValue, context, object, metadata, path,
+                            maxOffsets);
+                    if (verdicts != null && stringValue != null) {
+                        verdicts.record(f, stringValue, isValidCheck);
+                    }
+                }
+            }
+            if (tally != null) {
+                if (field.isLegal()) {
+                    tally.legalCharacters += characters;
+                    tally.legalViolations += isValidCheck ? 0 : 1;
+                } else {
+                    tally.baseCharacters += characters;
+                    tally.baseViolations += isValidCheck ? 0 : 1;
+                }
+            }
+            isValid = isValidCheck && isValid;
+            if (!isValid && (failFast || tally != null && tally.exhausted)) {
+                /* The remaining fields are not even read */
+                break;
+            }
+        }
+
+        return isValid;
+    }
+
+    /**
+     * Deep mode, validates the nested objects held by the fields of an object, then theirs, depth first. The path of
+     * a nested object is built as cascading would build it, e.g. "purchaseOrderLineItems[2]".
+     *
+     * @param object   the object holding the nested objects
+     * @param metadata the cached metadata of the object's class
+     * @param context  receives the violations
+     * @param path     the path of the object, null for the annotated object
+     * @param depth    the depth of the nested objects, 1 for the objects held by the annotated object
+     * @param visited  the objects already validated, by identity
+     * @param snapshot the configuration of the validation
+     * @param tally    the counts for the metrics and the scan budget, null when neither is needed
+     * @return true if every nested object passes the validation.
+     * @throws NoSuchFieldException if an identifier field does not exist
+     */
+    private boolean validateNested(final Object object, final UnprintableCharactersMetadata metadata,
+                                   final ConstraintValidatorContext context, final NodePath path, final int depth,
+                                   final Set<Object> visited, final ValidationSnapshot snapshot, final Tally tally)
+            throws NoSuchFieldException {
+        if (depth > snapshot.getMaxDepth()) {
+            log.debug("Nested objects of {} deeper than {} are not validated.", object.getClass().getName(),
+                    snapshot.getMaxDepth());
+            return true;
+        }
+        final boolean failFast = isFailFast(snapshot);
+        boolean isValid = true;
+
+        for (final NestedField field : metadata.getNestedFields()) {
+            if (tally != null && tally.exhausted) {
+                break;
+            }
+            final Object value = field.read(object);
+            if (value == null) {
+                continue;
+            }
+            final String name = field.getName();
+            switch (field.getContainer()) {
+                case NONE:
+                    isValid = validateNode(value, context, new NodePath(path, name, false, null, null), depth,
+                            visited, snapshot, tally) && isValid;
+                    break;
+                case ARRAY: {
+                    final Object[] array = (Object[]) value;
+                    for (int i = 0; i < array.length && (isValid || !failFast); ++i) {
+                        if (array[i] != null) {
+                            isValid = validateNode(array[i], context, new NodePath(path, name, true, i, null), depth,
+                                    visited, snapshot, tally) && isValid;
+                        }
+                    }
+                    break;
+                }
+                case COLLECTION: {
+                    if (value instanceof List && value instanceof RandomAccess) {
+                        final List<?> list = (List<?>) value;
+                        for (int i = 0, size = list.size(); i < size && (isValid || !failFast); ++i) {
+                            final Object element = list.get(i);
+                            if (element != null) {
+                                isValid = validateNode(element, context, new NodePath(path, name, true, i, null),
+                                        depth, visited, snapshot, tally) && isValid;
+                            }
+                        }
+                    } else {
+                        /* As cascading does, only the elements of a list have an index */
+                        final boolean indexed = value instanceof List;
+                        int i = 0;
+                        for (final Object element : (Collection<?>) value) {
+                            if (!isValid && failFast) {
+                                break;
+                            }
+                            if (element != null) {
+                                isValid = validateNode(element, context,
+                                        new NodePath(path, name, true, indexed ? i : null, null), depth, visited,
+                                        snapshot, tally) && isValid;
+                            }
+                            ++i;
+                        }
+                    }
+                    break;
+                }
+                case OPTIONAL: {
+                    final Object element = ((Optional<?>) value).orElse(null);
+                    if (element != null) {
+                        isValid = validateNode(element, context, new NodePath(path, name, false, null, null), depth,
+                                visited, snapshot, tally) && isValid;
+                    }
+                    break;
+                }
+                default: {
+                    for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                        if (!isValid && failFast) {
+                            break;
+                        }
+                        if (entry.getValue() != null) {
+                            isValid = validateNode(entry.getValue(), context,
+                                    new NodePath(path, name, true, null, entry.getKey()), depth, visited,
+                                    snapshot, tally) && isValid;
+                        }
+                    }
+                    break;
+                }
+            }
+            if (!isValid && failFast) {
+                break;
+            }
+        }
+
+        return isValid;
+    }
+
+    private boolean validateNode(final Object node, final ConstraintValidatorContext context, final NodePath path,
+                                 final int depth, final Set<Object> visited, final ValidationSnapshot snapshot,
+                                 final Tally tally)
+            throws NoSuchFieldException {
+        if (!visited.add(node)) {
+            /* Already validated, through a cycle or another path */
+            return true;
+        }
+        if (tally != null && tally.exhausted) {
+            /* The budget violation is already reported */
+            return false;
+        }
+        final UnprintableCharactersMetadata metadata = UnprintableCharactersMetadata.forClass(node.getClass());
+        boolean isValid = validateFields(node, metadata, context, path, snapshot, tally);
+        if ((isValid || !isFailFast(snapshot)) && metadata.getNestedFields().length > 0) {
+            isValid = validateNested(node, metadata, context, path, depth + 1, visited, snapshot, tally) && isValid;
+        }
+
+        return isValid;
+    }
+
+    /**
+     * Reports the violation, with its structured report as the dynamic payload.
+     *
+     * @param constraintValidatorContext receives the violation
+     * @param failureMessage             the message, the identifiers are appended to it
+     * @param violation                  the structured report, it gets the identifiers
+     * @param object                     the object holding the field
+     * @param metadata                   the cached metadata of the object's class
+     * @param path                       the path of a nested object in deep mode, null for the annotated object
+     * @throws NoSuchFieldException if an identifier field does not exist
+     */
     private void createInvalidMessage(final ConstraintValidatorContext constraintValidatorContext,
-                                      final String failureMessage, final String propertyNode, final Object object)
-            throws NoSuchFieldException, IllegalAccessException {
+                                      final String failureMessage, final FieldViolation violation,
+                                      final Object object, final UnprintableCharactersMetadata metadata,
+                                      final NodePath path)
+            throws NoSuchFieldException {
         String updatedFailureMsg = failureMessage;
+        final String propertyNode = violation.getPropertyNode();
+        /* A nested object is identified by the annotation on its own class */
+        final String[] identifiers = path == null ? identifierFields : metadata.getIdentifierFields();
 
-        if (identifierFields != null && identifierFields.length > 0) {
-            updatedFailureMsg = appendInvalidMessageWithArrayOfIdentifiers(failureMessage, object);
+        if (identifiers != null && identifiers.length > 0) {
+            final Object[] values = readIdentifiers(object, metadata, identifiers);
+            violation.setIdentifiers(identifiers, values);
+            updatedFailureMsg = appendInvalidMessageWithArrayOfIdentifiers(failureMessage, values,
+                    path == null ? identifierFieldsMessage : metadata.getIdentifierFieldsMessage());
         }
 
-        log.info("The failure message {}, for property {}.", updatedFailureMsg, propertyNode);
+        log.debug("The failure message {}, for property {}.", updatedFailureMsg, propertyNode);
         constraintValidatorContext.disableDefaultConstraintViolation();
-        constraintValidatorContext.buildConstraintViolationWithTemplate(updatedFailureMsg)
-                .addPropertyNode(propertyNode).addConstraintViolation();
+        /* Taken by the violation built next */
+        constraintValidatorContext.unwrap(HibernateConstraintValidatorContext.class).withDynamicPayload(violation);
+        if (path == null) {
+            constraintValidatorContext.buildConstraintViolationWithTemplate(updatedFailureMsg)
+                    .addPropertyNode(propertyNode).addConstraintViolation();
+        } else {
+            path.addConstraintViolation(constraintValidatorContext.buildConstraintViolationWithTemplate(
+                    updatedFailureMsg), propertyNode);
+        }
     }
 
-    private String appendInvalidMessageWithArrayOfIdentifiers(final String failureMessage, final Object object)
-            throws NoSuchFieldException, IllegalAccessException {
-
-        final String updatedFailureMsg;
-        final Object[] fields = new Object[identifierFields.length];
-        for (int i = 0; i < identifierFields.length; ++i) {
-            /* Get Field which identifies what failed */
-            final Field identifyingField = object.getClass().getDeclaredField(identifierFields[i]);
+    private static Object[] readIdentifiers(final Object object, final UnprintableCharactersMetadata metadata,
+                                            final String[] identifiers)
+            throws NoSuchFieldException {
+        final Object[] values = new Object[identifiers.length];
+        for (int i = 0; i < identifiers.length; ++i) {
             /* Get Field which identifies what failed */
-            identifyingField.setAccessible(true);
-            /* Add the field value to the Object array */
-            fields[i] = identifyingField.get(object).toString();
+            final FieldReader identifyingField = metadata.getReader(identifiers[i]);
+            if (identifyingField == null) {
+                throw new NoSuchFieldException(identifiers[i]);
+            }
+            values[i] = identifyingField.read(object);
         }
 
-        updatedFailureMsg = failureMessage + " " + String.format(identifierFieldsMessage, fields);
-        return updatedFailureMsg;
+        return values;
     }
 
-    private String createPropertyNode(final Field field) {
+    private static String appendInvalidMessageWithArrayOfIdentifiers(final String failureMessage,
+                                                                     final Object[] values,
+                                                                     final String identifiersMessage) {
+        final Object[] fields = new Object[values.length];
+        for (int i = 0; i < values.length; ++i) {
+            fields[i] = values[i].toString();
+        }
 
-        final String declaringClass = StringUtils.substringAfterLast(String.valueOf(field.getDeclaringClass()), ".");
-        return declaringClass + "." + field.getName();
+        return failureMessage + " " + String.format(identifiersMessage, fields);
     }
 
     /**
+     * Validates the field with its policy, the legal policy for a field annotated with
+     * {@link UnprintableCharactersAllowLegal}, its named policy, or the base policy.
+     *
      * @param field                      String.class Field in which the validation should be performed
+     * @param policy                     The policy of the field
+     * @param stringValue                The value of the field
      * @param constraintValidatorContext The ConstraintValidatorContext will be needed if the field fails
      * @param object                     The object for which the Annotation has been applied to.
+     * @param metadata                   The cached metadata of the object's class.
+     * @param path                       The path of a nested object in deep mode, null for the annotated object.
+     * @param maxOffsets                 The most offending characters in the report of a violation.
      * @return isValid boolean based on if the field passes validation or not.
-     * @throws IllegalAccessException
+     * @throws NoSuchFieldException
      */
-    private boolean handleLegalValidation(final Field field, final ConstraintValidatorContext constraintValidatorContext,
-                                          final Object object) throws IllegalAccessException, NoSuchFieldException {
+    private boolean handleStringValidation(final StringField field, final CharacterPolicy policy,
+                                           final String stringValue,
+                                           final ConstraintValidatorContext constraintValidatorContext,
+                                           final Object object, final UnprintableCharactersMetadata metadata,
+                                           final NodePath path, final int maxOffsets)
+            throws NoSuchFieldException {
         boolean isValid = true;
-        final String stringValue = (String) field.get(object);
-        log.debug("Legal Content - Field Name {} Field Value {}.", field.getName(), stringValue);
-
-        if (stringValue != null) {
-            for (int i = 0; i < stringValue.length(); ++i) {
-                final char c = stringValue.charAt(i);
-                if (!(c >= ' ' && c < 127) && !allowedLegalCharacters.contains(c)) {
-                    /* ignore the noise from IntelliJ about this always being false yes it is if the code makes it here. */
-                    isValid = isValid && false;
-                    log.info("Invalid character {}", c);
-                    final String propertyNode = createPropertyNode(field);
-                    final String failureMessage = String.format(FIELD_HAS_FAILED_VALIDATION_MSG, propertyNode);
-                    createInvalidMessage(constraintValidatorContext, failureMessage, propertyNode, object);
-                }
-            }
+        log.debug("Field Name {} Field Value {}.", field.getName(), stringValue);
+        /* A single violation per field, the scan stops at the first character which is not allowed */
+        final int i = stringValue == null ? -1 : policy.indexOfViolation(stringValue, 0);
+        if (i >= 0) {
+            isValid = false;
+            log.debug("Invalid code point {} at index {}", stringValue.codePointAt(i), i);
+            final String propertyNode = field.getPropertyNode();
+            final String failureMessage = String.format(FIELD_HAS_FAILED_VALIDATION_MSG, propertyNode);
+            createInvalidMessage(constraintValidatorContext, failureMessage,
+                    FieldViolation.characters(propertyNode, stringValue, policy, i, maxOffsets), object, metadata,
+                    path);
         }
 
         return isValid;
     }
 
     /**
-     * @param field                      String.class Field in which the validation should be performed
-     * @param constraintValidatorContext The ConstraintValidatorContext will be needed if the field fails
+     * Validates every element of a collection, array, map or Optional field. Arrays and {@link RandomAccess} lists are
+     * iterated by index, so no iterator is allocated, and the property node of an element, e.g.
+     * "PurchaseOrder.tags[2]", is only built for a violation. Map keys are reported as
+     * "PurchaseOrder.attributes&lt;K&gt;[key]" and map values as "PurchaseOrder.attributes[key]". Null elements are
+     * valid.
+     *
+     * @param field                      Field holding the Strings in which the validation should be performed
+     * @param policy                     The policy of the field
+     * @param value                      The value of the field
+     * @param constraintValidatorContext The ConstraintValidatorContext will be needed if an element fails
      * @param object                     The object for which the Annotation has been applied to.
-     * @return isValid boolean based on if the field passes validation or not.
-     * @throws IllegalAccessException
+     * @param metadata                   The cached metadata of the object's class.
+     * @param path                       The path of a nested object in deep mode, null for the annotated object.
+     * @param failFast                   Stop at the first failed element.
+     * @param maxLength                  Longer elements are reported without a scan, no limit when 0.
+     * @param maxOffsets                 The most offending characters in the report of a violation.
+     * @return isValid boolean based on if every element passes validation or not.
+     * @throws NoSuchFieldException
      */
-    private boolean handleBaseValidation(final Field field, final ConstraintValidatorContext constraintValidatorContext,
-                                         final Object object) throws IllegalAccessException, NoSuchFieldException {
+    private boolean handleContainerValidation(final StringField field, final CharacterPolicy policy,
+                                              final Object value,
+                                              final ConstraintValidatorContext constraintValidatorContext,
+                                              final Object object, final UnprintableCharactersMetadata metadata,
+                                              final NodePath path, final boolean failFast,
+                                              final int maxLength, final int maxOffsets)
+            throws NoSuchFieldException {
+        if (value == null) {
+            return true;
+        }
+        log.debug("Field Name {} Field Value {}.", field.getName(), value);
         boolean isValid = true;
-        final String stringValue = (String) field.get(object);
-        log.debug("Field Name {} Field Value {}.", field.getName(), stringValue);
-        if (stringValue != null &&
-                stringValue.matches(REGEX_ANY_CHARACTER + applicationProperties.getUnprintableRegex()
-                        + REGEX_ANY_CHARACTER)) {
-            isValid = false;
-            log.info("Invalid value {}", stringValue);
-            final String propertyNode = createPropertyNode(field);
-            final String failureMessage = String.format(FIELD_HAS_FAILED_VALIDATION_MSG, propertyNode);
-            createInvalidMessage(constraintValidatorContext, failureMessage, propertyNode, object);
+
+        switch (field.getContainer()) {
+            case ARRAY: {
+                final String[] array = (String[]) value;
+                for (int i = 0; i < array.length; ++i) {
+                    if (isViolation(policy, array[i], maxLength)) {
+                        isValid = false;
+                        reportViolation(field.getPropertyNode() + "[" + i + "]", array[i], policy, maxLength,
+                                maxOffsets, constraintValidatorContext, object, metadata, path);
+                        if (failFast) {
+                            break;
+                        }
+                    }
+                }
+                break;
+            }
+            case COLLECTION: {
+                if (value instanceof List && value instanceof RandomAccess) {
+                    final List<?> list = (List<?>) value;
+                    for (int i = 0, size = list.size(); i < size; ++i) {
+                        final String element = (String) list.get(i);
+                        if (isViolation(policy, element, maxLength)) {
+                            isValid = false;
+                            reportViolation(field.getPropertyNode() + "[" + i + "]", element, policy, maxLength,
+                                    maxOffsets, constraintValidatorContext, object, metadata, path);
+                            if (failFast) {
+                                break;
+                            }
+                        }
+                    }
+                } else {
+                    /* As cascading does, only the elements of a list have an index, a set's order means nothing */
+                    final boolean indexed = value instanceof List;
+                    int i = 0;
+                    for (final Object element : (Collection<?>) value) {
+                        if (isViolation(policy, (String) element, maxLength)) {
+                            isValid = false;
+                            reportViolation(field.getPropertyNode() + (indexed ? "[" + i + "]" : "[]"),
+                                    (String) element, policy, maxLength, maxOffsets, constraintValidatorContext,
+                                    object, metadata, path);
+                            if (failFast) {
+                                break;
+                            }
+                        }
+                        ++i;
+                    }
+                }
+                break;
+            }
+            case OPTIONAL: {
+                final String element = ((Optional<?>) value).map(String.class::cast).orElse(null);
+                if (isViolation(policy, element, maxLength)) {
+                    isValid = false;
+                    reportViolation(field.getPropertyNode(), element, policy, maxLength, maxOffsets,
+                            constraintValidatorContext, object, metadata, path);
+                }
+                break;
+            }
+            default: {
+                final boolean keys = field.getContainer().hasKeys();
+                final boolean values = field.getContainer().hasValues();
+                for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    if (keys && isViolation(policy, (String) entry.getKey(), maxLength)) {
+                        isValid = false;
+                        reportViolation(field.getPropertyNode() + "<K>[" + entry.getKey() + "]",
+                                (String) entry.getKey(), policy, maxLength, maxOffsets, constraintValidatorContext,
+                                object, metadata, path);
+                        if (failFast) {
+                            break;
+                        }
+                    }
+                    if (values && isViolation(policy, (String) entry.getValue(), maxLength)) {
+                        isValid = false;
+                        reportViolation(field.getPropertyNode() + "[" + entry.getKey() + "]",
+                                (String) entry.getValue(), policy, maxLength, maxOffsets, constraintValidatorContext,
+                                object, metadata, path);
+                        if (failFast) {
+                            break;
+                        }
+                    }
+                }
+                break;
+            }
         }
 
         return isValid;
     }
 
-    private boolean isAnnotatedBy(final Annotation annotation) {
-        final boolean isAnnotatedField = annotation != null;
+    /**
+     * @return the failFast of the annotation, or of the configuration when the annotation leaves it to the default.
+     */
+    private boolean isFailFast(final ValidationSnapshot snapshot) {
+        return failFast == UnprintableCharacters.FailFast.DEFAULT ? snapshot.isFailFast()
+                : failFast == UnprintableCharacters.FailFast.ENABLED;
+    }
+
+    private static boolean isViolation(final CharacterPolicy policy, final String element, final int maxLength) {
+        return element != null && (isTooLong(element, maxLength) || policy.indexOfViolation(element, 0) >= 0);
+    }
 
-        return isAnnotatedField;
+    private static boolean isTooLong(final String element, final int maxLength) {
+        return maxLength > 0 && element.length() > maxLength;
+    }
+
+    private void reportViolation(final String propertyNode, final String element, final CharacterPolicy policy,
+                                 final int maxLength, final int maxOffsets,
+                                 final ConstraintValidatorContext constraintValidatorContext, final Object object,
+                                 final UnprintableCharactersMetadata metadata, final NodePath path)
+            throws NoSuchFieldException {
+        if (isTooLong(element, maxLength)) {
+            log.debug("Element of {} characters over the maximum length {}", element.length(), maxLength);
+            createInvalidMessage(constraintValidatorContext, String.format(FIELD_EXCEEDS_MAX_LENGTH_MSG,
+                    propertyNode, maxLength), FieldViolation.limit(FieldViolation.Reason.MAX_LENGTH, propertyNode,
+                    maxLength), object, metadata, path);
+            return;
+        }
+        /* The element is scanned again, but only when it is invalid */
+        final int i = policy.indexOfViolation(element, 0);
+        log.debug("Invalid code point {} at index {}", element.codePointAt(i), i);
+        final String failureMessage = String.format(FIELD_HAS_FAILED_VALIDATION_MSG, propertyNode);
+        createInvalidMessage(constraintValidatorContext, failureMessage,
+                FieldViolation.characters(propertyNode, element, policy, i, maxOffsets), object, metadata, path);
+    }
+
+    /**
+     * Reports a field over the maximum length, or over the scan budget, without scanning it.
+     *
+     * @param reason                     {@link FieldViolation.Reason#MAX_LENGTH} or
+     *                                   {@link FieldViolation.Reason#SCAN_BUDGET}
+     * @param field                      The field which is not scanned
+     * @param maxFieldLength             The maximum length, for the message
+     * @param constraintValidatorContext The ConstraintValidatorContext receiving the violation
+     * @param object                     The object holding the field.
+     * @param metadata                   The cached metadata of the object's class.
+     * @param path                       The path of a nested object in deep mode, null for the annotated object.
+     * @return false, the field fails the validation.
+     * @throws NoSuchFieldException
+     */
+    private boolean reportLimit(final FieldViolation.Reason reason, final StringField field,
+                                final int maxFieldLength, final ConstraintValidatorContext constraintValidatorContext,
+                                final Object object, final UnprintableCharactersMetadata metadata,
+                                final NodePath path)
+            throws NoSuchFieldException {
+        final FieldViolation violation = FieldViolation.limit(reason, field.getPropertyNode(), maxFieldLength);
+        log.debug("Field {} is not scanned: {}", violation.getPropertyNode(), reason);
+        createInvalidMessage(constraintValidatorContext, violation.getMessage(), violation, object, metadata, path);
+
+        return false;
+    }
+
+    /**
+     * @return the number of characters held by a collection, array, map or Optional field, for the metrics.
+     */
+    private static long containedLength(final StringContainer container, final Object value) {
+        if (value == null) {
+            return 0L;
+        }
+        long characters = 0L;
+        switch (container) {
+            case ARRAY:
+                for (final String element : (String[]) value) {
+                    characters += element == null ? 0 : element.length();
+                }
+                break;
+            case COLLECTION:
+                for (final Object element : (Collection<?>) value) {
+                    characters += element == null ? 0 : ((String) element).length();
+                }
+                break;
+            case OPTIONAL:
+                characters = ((Optional<?>) value).map(element -> ((String) element).length()).orElse(0);
+                break;
+            default:
+                for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    if (container.hasKeys() && entry.getKey() != null) {
+                        characters += ((String) entry.getKey()).length();
+                    }
+                    if (container.hasValues() && entry.getValue() != null) {
+                        characters += ((String) entry.getValue()).length();
+                    }
+                }
+                break;
+        }
+
+        return characters;
+    }
+
+    /**
+     * The path of a nested object in deep mode, from the annotated object, e.g. "department" or
+     * "purchaseOrderLineItems[2]". Only built for the nested objects which are visited.
+     */
+    private static final class NodePath {
+
+        private final NodePath parent;
+        private final String name;
+        private final boolean iterable;
+        private final Integer index;
+        private final Object key;
+
+        private NodePath(final NodePath parent, final String name, final boolean iterable, final Integer index,
+                         final Object key) {
+            this.parent = parent;
+            this.name = name;
+            this.iterable = iterable;
+            this.index = index;
+            this.key = key;
+        }
+
+        /**
+         * Adds the violation of a field of the nested object, with the nodes cascading would give it. The index or
+         * key of an element goes with the node which follows the iterable node.
+         */
+        private void addConstraintViolation(final ConstraintViolationBuilder builder, final String propertyNode) {
+            final Deque<NodePath> nodes = new ArrayDeque<>();
+            for (NodePath node = this; node != null; node = node.parent) {
+                nodes.push(node);
+            }
+
+            NodePath previous = nodes.pop();
+            NodeBuilderCustomizableContext customizable = builder.addPropertyNode(previous.name);
+            NodeBuilderDefinedContext defined = null;
+            while (previous != null) {
+                final NodePath next = nodes.poll();
+                final String name = next == null ? propertyNode : next.name;
+                final NodeBuilderCustomizableContext added = defined != null ? defined.addPropertyNode(name)
+                        : customizable.addPropertyNode(name);
+                if (previous.iterable) {
+                    defined = previous.key != null ? added.inIterable().atKey(previous.key)
+                            : added.inIterable().atIndex(previous.index);
+                    customizable = null;
+                } else {
+                    customizable = added;
+                    defined = null;
+                }
+                previous = next;
+            }
+
+            if (defined != null) {
+                defined.addConstraintViolation();
+            } else {
+                customizable.addConstraintViolation();
+            }
+        }
+    }
+
+    /**
+     * The counts of a validation for the metrics, and what is left of its scan budget.
+     */
+    private static final class Tally {
+
+        private long remainingCharacters;
+        private final long deadlineNanos;
+        /* The budget is spent, nothing else is scanned */
+        private boolean exhausted;
+        private int baseFields;
+        private int legalFields;
+        private int skippedFields;
+        private long baseCharacters;
+        private long legalCharacters;
+        private int baseViolations;
+        private int legalViolations;
+
+        private Tally(final ValidationSnapshot snapshot) {
+            remainingCharacters = snapshot.getMaxTotalCharacters() > 0 ? snapshot.getMaxTotalCharacters()
+                    : Long.MAX_VALUE;
+            deadlineNanos = snapshot.getTimeBudgetNanos() > 0 ? System.nanoTime() + snapshot.getTimeBudgetNanos()
+                    : 0L;
+        }
+
+        /**
+         * @param characters the characters about to be scanned
+         * @return false if they do not fit in the budget, or if the time budget is spent.
+         */
+        private boolean spend(final long characters) {
+            remainingCharacters -= characters;
+            if (remainingCharacters < 0 || deadlineNanos != 0L && System.nanoTime() - deadlineNanos > 0) {
+                exhausted = true;
+            }
+
+            return !exhausted;
+        }
     }
 }
@@ -0,0 +1,58 @@
+package com.giftedconcepts.validation.core.batch;
+
+import lombok.Getter;
+
+import javax.validation.ConstraintViolation;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The result of {@link BatchValidationService#validate}: the objects which failed the validation, in input order.
+ *
+ * @param <T> type of the validated objects
+ */
+@Getter
+public class BatchValidationResult<T> {
+
+    /* Number of objects in the batch */
+    private final int objectCount;
+    /* Number of objects which were validated, less than objectCount when the violations were capped */
+    private final int validatedCount;
+    /* Number of reported violations */
+    private final int violationCount;
+    /* True if violations were left out because of the cap */
+    private final boolean truncated;
+    /* Only the objects with violations, in input order */
+    private final List<ObjectValidationResult<T>> results;
+
+    BatchValidationResult(final int objectCount, final int validatedCount, final int violationCount,
+                          final boolean truncated, final List<ObjectValidationResult<T>> results) {
+        this.objectCount = objectCount;
+        this.validatedCount = validatedCount;
+        this.violationCount = violationCount;
+        this.truncated = truncated;
+        this.results = Collections.unmodifiableList(results);
+    }
+
+    public boolean isValid() {
+        return results.isEmpty() && !truncated;
+    }
+
+    /**
+     * @return the violations keyed by {@link ObjectValidationResult#getKey()}, in input order. The violations of objects
+     * sharing the same identifier values are merged.
+     */
+    public Map<String, Set<ConstraintViolation<T>>> getViolationsByKey() {
+        final Map<String, Set<ConstraintViolation<T>>> violationsByKey = new LinkedHashMap<>();
+        for (final ObjectValidationResult<T> result : results) {
+            violationsByKey.computeIfAbsent(result.getKey(), key -> new LinkedHashSet<>())
+                    .addAll(result.getViolations());
+        }
+
+        return violationsByKey;
+    }
+}
@@ -0,0 +1,239 @@
+package com.giftedconcepts.validation.core.batch;
+
+import com.giftedconcepts.validation.core.annotations.UnprintableCharacters;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharactersIdentifiers;
+import com.giftedconcepts.validation.core.config.ApplicationProperties;
+import com.giftedconcepts.validation.core.tenant.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Validates large collections of {@link UnprintableCharacters} objects (or any other constrained objects) in parallel.
+ * The objects are split into chunks of {@code batch.chunkSize} consecutive objects, each chunk is validated by one task
+ * and the results are merged back in input order.
+ * <p>
+ * The tasks run in a ForkJoinPool of {@code batch.parallelism} threads owned by the service, in the common
+ * ForkJoinPool when the parallelism is 0, or in the Executor given to
+ * {@link #validate(Collection, int, Executor)}.
+ */
+@Slf4j
+@Service
+public class BatchValidationService {
+
+    public static final int UNLIMITED_VIOLATIONS = Integer.MAX_VALUE;
+
+    private final Validator validator;
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+
+    public BatchValidationService(final ValidatorFactory validatorFactory,
+                                  final ApplicationProperties applicationProperties) {
+        final ApplicationProperties.Batch batch = applicationProperties.getBatch();
+        this.validator = validatorFactory.getValidator();
+        this.chunkSize = Math.max(1, batch.getChunkSize());
+        this.pool = batch.getParallelism() > 0 ? new ForkJoinPool(batch.getParallelism()) : ForkJoinPool.commonPool();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != ForkJoinPool.commonPool()) {
+            pool.shutdown();
+        }
+    }
+
+    public <T> BatchValidationResult<T> validate(final Collection<? extends T> objects) {
+        return validate(objects, UNLIMITED_VIOLATIONS, pool);
+    }
+
+    public <T> BatchValidationResult<T> validate(final Collection<? extends T> objects, final int maxViolations) {
+        return validate(objects, maxViolations, pool);
+    }
+
+    /**
+     * The stream is collected before the validation starts, so that the results can be returned in input order.
+     */
+    public <T> BatchValidationResult<T> validate(final Stream<? extends T> objects, final int maxViolations) {
+        return validate(objects.collect(Collectors.<T>toList()), maxViolations, pool);
+    }
+
+    /**
+     * @param objects       the objects to validate
+     * @param maxViolations cap on the number of reported violations. The first violations in input order are reported;
+     *                      a chunk stops early once the chunks before it already found enough violations.
+     * @param executor      runs the chunk tasks
+     * @return the objects which failed the validation, in input order.
+     */
+    public <T> BatchValidationResult<T> validate(final Collection<? extends T> objects, final int maxViolations,
+                                                 final Executor executor) {
+        if (maxViolations < 1) {
+            throw new IllegalArgumentException("maxViolations must be positive: " + maxViolations);
+        }
+        final List<T> list = new ArrayList<>(objects);
+        final int chunkCount = (list.size() + chunkSize - 1) / chunkSize;
+        final ViolationCap cap = new ViolationCap(chunkCount, maxViolations);
+
+        final List<ChunkResult<T>> chunks = new ArrayList<>();
+        if (chunkCount <= 1) {
+            /* Not worth a task */
+            chunks.add(validateChunk(list, 0, 0, list.size(), cap));
+        } else {
+            final List<CompletableFuture<ChunkResult<T>>> futures = new ArrayList<>();
+            /* The pool threads validate with the policies of the caller's tenant */
+            final String tenant = TenantContext.getTenant();
+            for (int chunkIndex = 0; chunkIndex < chunkCount; ++chunkIndex) {
+                final int index = chunkIndex;
+                final int from = chunkIndex * chunkSize;
+                final int to = Math.min(list.size(), from + chunkSize);
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    try (TenantContext.Scope ignored = TenantContext.open(tenant)) {
+                        return validateChunk(list, index, from, to, cap);
+                    }
+                }, executor));
+            }
+            for (final CompletableFuture<ChunkResult<T>> future : futures) {
+                chunks.add(join(future));
+            }
+        }
+
+        return merge(list.size(), chunks, maxViolations);
+    }
+
+    private <T> ChunkResult<T> validateChunk(final List<T> objects, final int chunkIndex, final int from,
+                                             final int to, final ViolationCap cap) {
+        final ChunkResult<T> chunk = new ChunkResult<>();
+        int violationCount = 0;
+        for (int i = from; i < to; ++i) {
+            /* Later objects could not be reported anyway */
+            if (violationCount >= cap.maxViolations || cap.isCutOff(chunkIndex)) {
+                break;
+            }
+            final T object = objects.get(i);
+            final Set<ConstraintViolation<T>> violations = validator.validate(object);
+            ++chunk.validatedCount;
+            if (!violations.isEmpty()) {
+                violationCount += violations.size();
+                chunk.results.add(new ObjectValidationResult<>(i, object, UnprintableCharactersIdentifiers.read(object),
+                        violations));
+            }
+        }
+        cap.completed(chunkIndex, violationCount);
+
+        return chunk;
+    }
+
+    private static <T> BatchValidationResult<T> merge(final int objectCount, final List<ChunkResult<T>> chunks,
+                                                      final int maxViolations) {
+        final List<ObjectValidationResult<T>> results = new ArrayList<>();
+        int validatedCount = 0;
+        int violationCount = 0;
+        boolean truncated = false;
+
+        for (final ChunkResult<T> chunk : chunks) {
+            validatedCount += chunk.validatedCount;
+            for (final ObjectValidationResult<T> result : chunk.results) {
+                final int remaining = maxViolations - violationCount;
+                if (remaining <= 0) {
+                    truncated = true;
+                    break;
+                }
+                if (result.getViolations().size() > remaining) {
+                    results.add(new ObjectValidationResult<>(result.getIndex(), result.getObject(),
+                            result.getIdentifiers(), firstViolations(result.getViolations(), remaining)));
+                    violationCount += remaining;
+                    truncated = true;
+                } else {
+                    results.add(result);
+                    violationCount += result.getViolations().size();
+                }
+            }
+        }
+        truncated = truncated || validatedCount < objectCount;
+
+        return new BatchValidationResult<>(objectCount, validatedCount, violationCount, truncated, results);
+    }
+
+    private static <T> Set<ConstraintViolation<T>> firstViolations(final Set<ConstraintViolation<T>> violations,
+                                                                   final int count) {
+        final Set<ConstraintViolation<T>> first = new LinkedHashSet<>();
+        final Iterator<ConstraintViolation<T>> iterator = violations.iterator();
+        while (first.size() < count) {
+            first.add(iterator.next());
+        }
+
+        return first;
+    }
+
+    private static <R> R join(final CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Tracks the violations of the completed chunks. Once the chunks 0 to n found at least maxViolations violations
+     * the chunks after n are cut off, so the reported violations do not depend on the scheduling.
+     */
+    private static final class ViolationCap {
+
+        private final int maxViolations;
+        private final int[] chunkViolations;
+        private final boolean[] chunkCompleted;
+        private int completedPrefix;
+        private long prefixViolations;
+        private volatile int cutOffAfter = Integer.MAX_VALUE;
+
+        private ViolationCap(final int chunkCount, final int maxViolations) {
+            this.maxViolations = maxViolations;
+            this.chunkViolations = new int[chunkCount];
+            this.chunkCompleted = new boolean[chunkCount];
+        }
+
+        private boolean isCutOff(final int chunkIndex) {
+            return chunkIndex > cutOffAfter;
+        }
+
+        private synchronized void completed(final int chunkIndex, final int violationCount) {
+            if (maxViolations == UNLIMITED_VIOLATIONS || cutOffAfter != Integer.MAX_VALUE) {
+                return;
+            }
+            chunkViolations[chunkIndex] = violationCount;
+            chunkCompleted[chunkIndex] = true;
+            while (completedPrefix < chunkCompleted.length && chunkCompleted[completedPrefix]) {
+                prefixViolations += chunkViolations[completedPrefix];
+                if (prefixViolations >= maxViolations) {
+                    cutOffAfter = completedPrefix;
+                    return;
+                }
+                ++completedPrefix;
+            }
+        }
+    }
+
+    private static final class ChunkResult<T> {
+
+        private final List<ObjectValidationResult<T>> results = new ArrayList<>();
+        private int validatedCount;
+    }
+}
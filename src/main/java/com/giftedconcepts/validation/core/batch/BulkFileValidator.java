@@ -0,0 +1,289 @@
+package com.giftedconcepts.validation.core.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharacters;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharactersIdentifiers;
+import com.giftedconcepts.validation.core.config.ApplicationProperties;
+import com.giftedconcepts.validation.core.tenant.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Validates a JSON Lines file of {@link UnprintableCharacters} objects, one object per line, without holding the file
+ * in memory. The file is split into chunks of about {@code bulk.chunkSize} bytes ending on a line break, each chunk is
+ * memory-mapped, deserialized and validated by one task, and {@code bulk.parallelism} tasks run at a time.
+ * <p>
+ * The invalid lines are written to the output file as they are found, in input order, one JSON object per line with
+ * the line number, the identifier fields and the violations. At most twice the parallelism chunks are in flight, so
+ * the memory used depends on the chunk size, not on the size of the file.
+ */
+@Slf4j
+@Service
+public class BulkFileValidator {
+
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final int BOUNDARY_BUFFER_SIZE = 8192;
+
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int parallelism;
+
+    public BulkFileValidator(final ValidatorFactory validatorFactory, final ObjectMapper objectMapper,
+                             final ApplicationProperties applicationProperties) {
+        final ApplicationProperties.Bulk bulk = applicationProperties.getBulk();
+        this.validator = validatorFactory.getValidator();
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(1, bulk.getChunkSize());
+        this.parallelism = bulk.getParallelism() > 0 ? bulk.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+    }
+
+    public BulkValidationSummary validate(final Path input, final Path output, final Class<?> type)
+            throws IOException {
+        return validate(input, output, type, chunkSize, parallelism);
+    }
+
+    /**
+     * @param input       the JSON Lines file, UTF-8
+     * @param output      receives the invalid lines, replaced if it exists
+     * @param type        the class of the objects
+     * @param chunkSize   bytes per chunk, a chunk is longer when a line does not fit
+     * @param parallelism chunks validated at a time
+     * @return the counts of lines and violations.
+     * @throws IOException if a file cannot be read or written
+     */
+    public BulkValidationSummary validate(final Path input, final Path output, final Class<?> type,
+                                          final int chunkSize, final int parallelism) throws IOException {
+        final long startNanos = System.nanoTime();
+        final ObjectReader reader = objectMapper.readerFor(type);
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        long lines = 0L;
+        long invalidLines = 0L;
+        long violations = 0L;
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            final Deque<Future<ChunkResult>> inFlight = new ArrayDeque<>();
+            final long size = channel.size();
+            long start = 0L;
+            /* The pool threads validate with the policies of the caller's tenant */
+            final String tenant = TenantContext.getTenant();
+            while (start < size) {
+                final long end = nextChunkEnd(channel, start, chunkSize, size);
+                final long chunkStart = start;
+                inFlight.add(executor.submit(() -> {
+                    try (TenantContext.Scope ignored = TenantContext.open(tenant)) {
+                        return validateChunk(channel, chunkStart, end, reader);
+                    }
+                }));
+                start = end;
+
+                if (inFlight.size() >= 2 * parallelism) {
+                    final ChunkResult result = await(inFlight.poll());
+                    violations += write(writer, result, lines);
+                    invalidLines += result.invalidLines.size();
+                    lines += result.lines;
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                final ChunkResult result = await(inFlight.poll());
+                violations += write(writer, result, lines);
+                invalidLines += result.invalidLines.size();
+                lines += result.lines;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final BulkValidationSummary summary = new BulkValidationSummary(lines, invalidLines, violations,
+                System.nanoTime() - startNanos);
+        log.info("Validated {} lines of {} in {} ms, {} invalid lines, {} violations.", lines, input,
+                summary.getElapsedMillis(), invalidLines, violations);
+
+        return summary;
+    }
+
+    /**
+     * @return the position after the first line break at or after start + chunkSize, or the end of the file.
+     */
+    private static long nextChunkEnd(final FileChannel channel, final long start, final int chunkSize,
+                                     final long size) throws IOException {
+        long position = start + chunkSize - 1;
+        if (position >= size - 1) {
+            return size;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_BUFFER_SIZE);
+        while (position < size) {
+            /* Through Buffer, the ByteBuffer overloads of Java 9 do not exist on a Java 8 runtime */
+            ((Buffer) buffer).clear();
+            final int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; ++i) {
+                if (buffer.get(i) == LINE_FEED) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+
+        return size;
+    }
+
+    private ChunkResult validateChunk(final FileChannel channel, final long start, final long end,
+                                      final ObjectReader reader) throws IOException {
+        final MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        final ChunkResult result = new ChunkResult();
+
+        int lineStart = 0;
+        final int limit = chunk.limit();
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && chunk.get(lineEnd) != LINE_FEED) {
+                ++lineEnd;
+            }
+            ++result.lines;
+            int contentEnd = lineEnd;
+            if (contentEnd > lineStart && chunk.get(contentEnd - 1) == CARRIAGE_RETURN) {
+                --contentEnd;
+            }
+            if (contentEnd > lineStart) {
+                final InvalidLine invalidLine = validateLine(chunk, lineStart, contentEnd, reader);
+                if (invalidLine != null) {
+                    invalidLine.line = result.lines;
+                    result.invalidLines.add(invalidLine);
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the violations of the line, or null if it is valid.
+     */
+    private InvalidLine validateLine(final MappedByteBuffer chunk, final int start, final int end,
+                                     final ObjectReader reader) {
+        final ByteBuffer line = chunk.duplicate();
+        ((Buffer) line).position(start);
+        ((Buffer) line).limit(end);
+        final Object object;
+        try (InputStream inputStream = new ByteBufferBackedInputStream(line)) {
+            object = reader.readValue(inputStream);
+        } catch (final JsonProcessingException e) {
+            return new InvalidLine(Collections.emptyMap(), Collections.singletonList(
+                    violation("", "Malformed JSON: " + e.getOriginalMessage())));
+        } catch (final IOException e) {
+            return new InvalidLine(Collections.emptyMap(), Collections.singletonList(violation("", e.getMessage())));
+        }
+        if (object == null) {
+            return null;
+        }
+
+        final Set<ConstraintViolation<Object>> violations = validator.validate(object);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        final List<Map<String, String>> described = new ArrayList<>(violations.size());
+        for (final ConstraintViolation<Object> violation : violations) {
+            described.add(violation(violation.getPropertyPath().toString(), violation.getMessage()));
+        }
+
+        return new InvalidLine(UnprintableCharactersIdentifiers.read(object), described);
+    }
+
+    private static Map<String, String> violation(final String path, final String message) {
+        final Map<String, String> violation = new LinkedHashMap<>();
+        violation.put("path", path);
+        violation.put("message", message);
+        return violation;
+    }
+
+    /**
+     * @param firstLine the number of lines before the chunk
+     * @return the number of violations written.
+     */
+    private long write(final BufferedWriter writer, final ChunkResult result, final long firstLine)
+            throws IOException {
+        long violations = 0L;
+        for (final InvalidLine invalidLine : result.invalidLines) {
+            final Map<String, Object> record = new LinkedHashMap<>();
+            record.put("line", firstLine + invalidLine.line);
+            record.put("identifiers", invalidLine.identifiers);
+            record.put("violations", invalidLine.violations);
+            writer.write(objectMapper.writeValueAsString(record));
+            writer.newLine();
+            violations += invalidLine.violations.size();
+        }
+
+        return violations;
+    }
+
+    private static ChunkResult await(final Future<ChunkResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while validating", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static final class ChunkResult {
+
+        /* Lines of the chunk, empty lines included */
+        private int lines;
+        private final List<InvalidLine> invalidLines = new ArrayList<>();
+    }
+
+    private static final class InvalidLine {
+
+        /* Line number within the chunk, from 1 */
+        private int line;
+        private final Map<String, Object> identifiers;
+        private final List<Map<String, String>> violations;
+
+        private InvalidLine(final Map<String, Object> identifiers, final List<Map<String, String>> violations) {
+            this.identifiers = identifiers;
+            this.violations = violations;
+        }
+    }
+}
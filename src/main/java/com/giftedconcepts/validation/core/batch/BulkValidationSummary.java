@@ -0,0 +1,34 @@
+package com.giftedconcepts.validation.core.batch;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The counts of a {@link BulkFileValidator} or a {@link StreamValidationService} run.
+ */
+@Getter
+public class BulkValidationSummary {
+
+    /* Lines of the file, empty lines included */
+    private final long lines;
+    /* Lines which are malformed or have violations */
+    private final long invalidLines;
+    private final long violations;
+    private final long elapsedNanos;
+
+    BulkValidationSummary(final long lines, final long invalidLines, final long violations, final long elapsedNanos) {
+        this.lines = lines;
+        this.invalidLines = invalidLines;
+        this.violations = violations;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public boolean isValid() {
+        return invalidLines == 0L;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+}
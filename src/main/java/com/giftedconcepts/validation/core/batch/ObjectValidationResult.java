@@ -0,0 +1,50 @@
+package com.giftedconcepts.validation.core.batch;
+
+import lombok.Getter;
+
+import javax.validation.ConstraintViolation;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The violations of a single object of a batch.
+ *
+ * @param <T> type of the validated objects
+ */
+@Getter
+public class ObjectValidationResult<T> {
+
+    /* Position of the object in the batch */
+    private final int index;
+    private final T object;
+    /* The identifierFields values of the object, empty when the class has none */
+    private final Map<String, Object> identifiers;
+    private final Set<ConstraintViolation<T>> violations;
+
+    ObjectValidationResult(final int index, final T object, final Map<String, Object> identifiers,
+                           final Set<ConstraintViolation<T>> violations) {
+        this.index = index;
+        this.object = object;
+        this.identifiers = identifiers;
+        this.violations = violations;
+    }
+
+    /**
+     * @return the identifier values joined by ", ", or "#index" when the class has no identifierFields.
+     */
+    public String getKey() {
+        if (identifiers.isEmpty()) {
+            return "#" + index;
+        }
+
+        final StringBuilder key = new StringBuilder();
+        for (final Object identifier : identifiers.values()) {
+            if (key.length() > 0) {
+                key.append(", ");
+            }
+            key.append(identifier);
+        }
+
+        return key.toString();
+    }
+}
@@ -0,0 +1,359 @@
+package com.giftedconcepts.validation.core.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharacters;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharactersIdentifiers;
+import com.giftedconcepts.validation.core.config.ApplicationProperties;
+import com.giftedconcepts.validation.core.tenant.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Validates a stream of newline-delimited JSON (NDJSON) {@link UnprintableCharacters} objects, one object per line,
+ * and writes one result per record to an output stream as soon as the record is validated, in input order.
+ * <p>
+ * The records are deserialized and validated by a pool of {@code stream.parallelism} threads shared by all the
+ * streams. At most {@code stream.maxInFlight} records of a stream are read ahead of the result written last: beyond
+ * that the reading waits for the oldest record, so a slow validation or a slow reader of the results stops the input
+ * from being consumed. At most {@code stream.maxConcurrentStreams} streams are validated at a time, a stream over that
+ * is rejected before anything is read. The records held are therefore bounded for the whole service, about
+ * maxConcurrentStreams * (maxInFlight + 1) * maxLineLength bytes, whatever the size and the number of the uploads.
+ * Before waiting for more input the results of the records already read are written and flushed, so an interactive
+ * client gets them without sending the next record.
+ * <p>
+ * Each result is a JSON object on its own line: {@code {"line":3,"valid":true}} or
+ * {@code {"line":4,"valid":false,"identifiers":{...},"violations":[{"path":...,"message":...}]}}. The line numbers
+ * count the empty lines, which have no result.
+ */
+@Slf4j
+@Service
+public class StreamValidationService {
+
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int maxInFlight;
+    private final int maxLineLength;
+    private final int maxConcurrentStreams;
+    private final Semaphore streams;
+    private final ExecutorService executor;
+
+    public StreamValidationService(final ValidatorFactory validatorFactory, final ObjectMapper objectMapper,
+                                   final ApplicationProperties applicationProperties) {
+        final ApplicationProperties.Stream stream = applicationProperties.getStream();
+        this.validator = validatorFactory.getValidator();
+        this.objectMapper = objectMapper;
+        this.maxInFlight = Math.max(1, stream.getMaxInFlight());
+        this.maxLineLength = Math.max(1, stream.getMaxLineLength());
+        this.maxConcurrentStreams = Math.max(1, stream.getMaxConcurrentStreams());
+        this.streams = new Semaphore(maxConcurrentStreams);
+        final int parallelism = stream.getParallelism() > 0 ? stream.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("stream-validation-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(parallelism, threadFactory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @param input  the NDJSON records, UTF-8, read until its end
+     * @param output receives one NDJSON result per record, flushed as the results are written; it is not closed
+     * @param type   the class of the objects
+     * @return the counts of lines and violations.
+     * @throws IOException                if the input cannot be read or the output cannot be written
+     * @throws RejectedExecutionException if stream.maxConcurrentStreams streams are being validated, nothing is read
+     */
+    public BulkValidationSummary validate(final InputStream input, final OutputStream output, final Class<?> type)
+            throws IOException {
+        if (!streams.tryAcquire()) {
+            throw new RejectedExecutionException("Already validating the maximum number of streams");
+        }
+        try {
+            return validateStream(input, output, type);
+        } finally {
+            streams.release();
+        }
+    }
+
+    /**
+     * @return the number of streams being validated.
+     */
+    public int getActiveStreams() {
+        return maxConcurrentStreams - streams.availablePermits();
+    }
+
+    private BulkValidationSummary validateStream(final InputStream input, final OutputStream output,
+                                                 final Class<?> type) throws IOException {
+        final long startNanos = System.nanoTime();
+        final ObjectReader reader = objectMapper.readerFor(type);
+        final LineReader lines = new LineReader(input, maxLineLength);
+        final Deque<Future<RecordResult>> inFlight = new ArrayDeque<>();
+        final Counts counts = new Counts();
+        /* Results written since the last flush */
+        boolean unflushed = false;
+
+        /* The pool threads validate with the policies of the caller's tenant */
+        final String tenant = TenantContext.getTenant();
+        try {
+            while (true) {
+                /* Nothing more can be read without waiting: the results of the records read are owed now */
+                if ((unflushed || !inFlight.isEmpty()) && !lines.isReady()) {
+                    while (!inFlight.isEmpty()) {
+                        write(output, await(inFlight.poll()), counts);
+                    }
+                    output.flush();
+                    unflushed = false;
+                }
+
+                final byte[] line = lines.next();
+                if (line == null) {
+                    break;
+                }
+                if (line.length == 0) {
+                    continue;
+                }
+                final long number = lines.getLines();
+                final boolean tooLong = lines.isTruncated();
+                inFlight.add(executor.submit(() -> {
+                    try (TenantContext.Scope ignored = TenantContext.open(tenant)) {
+                        return tooLong ? invalid(number, Collections.emptyMap(), Collections.singletonList(
+                                violation("", "Record exceeds the maximum length of " + maxLineLength + " bytes.")))
+                                : validateLine(number, line, reader);
+                    }
+                }));
+
+                /* The reading waits for the oldest record when too many are in flight */
+                while (!inFlight.isEmpty() && (inFlight.size() >= maxInFlight || inFlight.peek().isDone())) {
+                    write(output, await(inFlight.poll()), counts);
+                    unflushed = true;
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                write(output, await(inFlight.poll()), counts);
+            }
+            output.flush();
+        } finally {
+            /* The client is gone or the input failed, the records left are not validated */
+            for (final Future<RecordResult> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+
+        final BulkValidationSummary summary = new BulkValidationSummary(lines.getLines(), counts.invalidLines,
+                counts.violations, System.nanoTime() - startNanos);
+        log.info("Validated a stream of {} lines of {} in {} ms, {} invalid lines, {} violations.", lines.getLines(),
+                type.getSimpleName(), summary.getElapsedMillis(), counts.invalidLines, counts.violations);
+
+        return summary;
+    }
+
+    private static void write(final OutputStream output, final RecordResult result, final Counts counts)
+            throws IOException {
+        output.write(result.json);
+        if (result.invalid) {
+            ++counts.invalidLines;
+            counts.violations += result.violations;
+        }
+    }
+
+    private RecordResult validateLine(final long number, final byte[] line, final ObjectReader reader)
+            throws JsonProcessingException {
+        final Object object;
+        try {
+            object = reader.readValue(line);
+        } catch (final JsonProcessingException e) {
+            return invalid(number, Collections.emptyMap(), Collections.singletonList(
+                    violation("", "Malformed JSON: " + e.getOriginalMessage())));
+        } catch (final IOException e) {
+            return invalid(number, Collections.emptyMap(), Collections.singletonList(violation("", e.getMessage())));
+        }
+
+        final Set<ConstraintViolation<Object>> violations = object == null ? Collections.emptySet()
+                : validator.validate(object);
+        if (violations.isEmpty()) {
+            final Map<String, Object> record = new LinkedHashMap<>();
+            record.put("line", number);
+            record.put("valid", true);
+            return new RecordResult(toJson(record), false, 0);
+        }
+        final List<Map<String, String>> described = new ArrayList<>(violations.size());
+        for (final ConstraintViolation<Object> violation : violations) {
+            described.add(violation(violation.getPropertyPath().toString(), violation.getMessage()));
+        }
+
+        return invalid(number, UnprintableCharactersIdentifiers.read(object), described);
+    }
+
+    private RecordResult invalid(final long number, final Map<String, Object> identifiers,
+                                 final List<Map<String, String>> violations) throws JsonProcessingException {
+        final Map<String, Object> record = new LinkedHashMap<>();
+        record.put("line", number);
+        record.put("valid", false);
+        record.put("identifiers", identifiers);
+        record.put("violations", violations);
+        return new RecordResult(toJson(record), true, violations.size());
+    }
+
+    private byte[] toJson(final Map<String, Object> record) throws JsonProcessingException {
+        final byte[] json = objectMapper.writeValueAsBytes(record);
+        final byte[] line = Arrays.copyOf(json, json.length + 1);
+        line[json.length] = LINE_FEED;
+        return line;
+    }
+
+    private static Map<String, String> violation(final String path, final String message) {
+        final Map<String, String> violation = new LinkedHashMap<>();
+        violation.put("path", path);
+        violation.put("message", message);
+        return violation;
+    }
+
+    private static RecordResult await(final Future<RecordResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while validating", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static final class Counts {
+
+        private long invalidLines;
+        private long violations;
+    }
+
+    private static final class RecordResult {
+
+        /* The result line, line feed included */
+        private final byte[] json;
+        private final boolean invalid;
+        private final int violations;
+
+        private RecordResult(final byte[] json, final boolean invalid, final int violations) {
+            this.json = json;
+            this.invalid = invalid;
+            this.violations = violations;
+        }
+    }
+
+    /**
+     * Splits an input stream on line feeds. A line keeps at most maxLength bytes, the rest of a longer line is skipped
+     * and the line is reported as truncated.
+     */
+    private static final class LineReader {
+
+        private final InputStream input;
+        private final int maxLength;
+        private final byte[] buffer = new byte[READ_BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private byte[] line = new byte[READ_BUFFER_SIZE];
+        private long lines;
+        private boolean truncated;
+
+        private LineReader(final InputStream input, final int maxLength) {
+            this.input = input;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * @return whether a byte or the end of the input can be read without blocking, as far as the input knows.
+         */
+        private boolean isReady() throws IOException {
+            return position < limit || limit < 0 || input.available() > 0;
+        }
+
+        /**
+         * @return the next line without its line break, empty for an empty line, or null at the end of the input.
+         */
+        private byte[] next() throws IOException {
+            int length = 0;
+            boolean read = false;
+            truncated = false;
+            while (true) {
+                if (position >= limit && (limit < 0 || !fill())) {
+                    if (!read) {
+                        return null;
+                    }
+                    break;
+                }
+                read = true;
+                int end = position;
+                while (end < limit && buffer[end] != LINE_FEED) {
+                    ++end;
+                }
+                final int count = Math.min(end - position, maxLength - length);
+                truncated |= count < end - position;
+                if (length + count > line.length) {
+                    line = Arrays.copyOf(line, Math.min(maxLength, Math.max(line.length * 2, length + count)));
+                }
+                System.arraycopy(buffer, position, line, length, count);
+                length += count;
+                if (end < limit) {
+                    position = end + 1;
+                    break;
+                }
+                position = end;
+            }
+            ++lines;
+            if (length > 0 && !truncated && line[length - 1] == CARRIAGE_RETURN) {
+                --length;
+            }
+
+            return Arrays.copyOf(line, length);
+        }
+
+        private boolean fill() throws IOException {
+            limit = input.read(buffer);
+            position = 0;
+            return limit > 0;
+        }
+
+        private long getLines() {
+            return lines;
+        }
+
+        private boolean isTruncated() {
+            return truncated;
+        }
+    }
+}
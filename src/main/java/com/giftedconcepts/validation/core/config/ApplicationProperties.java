@@ -5,13 +5,206 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Getter
 @Setter
 @Component
-@ConfigurationProperties(prefix = "com.giftedconcepts.validate.annotation")
+@ConfigurationProperties(prefix = ApplicationProperties.PREFIX)
 public class ApplicationProperties {
 
+    public static final String PREFIX = "com.giftedconcepts.validate.annotation";
+
     private String unprintableRegex;
     private int[] allowedLegalValidationCharacters;
+    /* Stop the validation of an object at the first failed field, unless the annotation says otherwise */
+    private boolean failFast;
+    private Metrics metrics = new Metrics();
+    private Batch batch = new Batch();
+    private Bulk bulk = new Bulk();
+    private Stream stream = new Stream();
+    private CleanValues cleanValues = new CleanValues();
+    private Sanitizer sanitizer = new Sanitizer();
+    private Filter filter = new Filter();
+    private Deep deep = new Deep();
+    private Limits limits = new Limits();
+    /* Named policies, selected by fields annotated with UnprintableCharactersPolicy, "base" and "legal" are reserved */
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+    private Reload reload = new Reload();
+    private Prewarm prewarm = new Prewarm();
+    private Tenants tenants = new Tenants();
+    private Incremental incremental = new Incremental();
+    private Report report = new Report();
+
+    @Getter
+    @Setter
+    public static class Metrics {
+
+        /* Micrometer timers and counters for every validation */
+        private boolean enabled;
+        /* Validations taking longer are logged with their identifier fields, not logged when unset */
+        private Duration slowValidationThreshold;
+        /* Share of the slow validations which are logged, between 0 and 1 */
+        private double slowValidationLogSampleRate = 1.0;
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+
+        /* Threads of the batch validation pool, the common ForkJoinPool is used when 0 */
+        private int parallelism;
+        /* Objects validated by a single task, in input order */
+        private int chunkSize = 256;
+    }
+
+    @Getter
+    @Setter
+    public static class Bulk {
+
+        /* Bytes of a JSON Lines file validated by a single task, extended to the next line break */
+        private int chunkSize = 16 * 1024 * 1024;
+        /* Chunks validated at a time, the number of processors when 0 */
+        private int parallelism;
+    }
+
+    @Getter
+    @Setter
+    public static class Stream {
+
+        /* Threads validating the records of the NDJSON streams, the number of processors when 0 */
+        private int parallelism;
+        /* Streams validated at a time, the next ones are rejected with 503 */
+        private int maxConcurrentStreams = 4;
+        /* Records of a stream read ahead of the result written last, the reading waits beyond */
+        private int maxInFlight = 16;
+        /* Longer records are reported without being parsed */
+        private int maxLineLength = 256 * 1024;
+        /* The types accepted by POST /validation/{type}, by name, e.g. purchase-orders: com.example.PurchaseOrder */
+        private Map<String, Class<?>> types = new LinkedHashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class CleanValues {
+
+        /* Cache the values found clean, so a value which comes back is not scanned again */
+        private boolean enabled;
+        /* Total length, in chars, of the cached values */
+        private long maximumWeight = 16 * 1024 * 1024;
+        /* Shorter values are scanned faster than they are looked up */
+        private int minimumLength = 256;
+    }
+
+    @Getter
+    @Setter
+    public static class Sanitizer {
+
+        /* Replaces every offending character, the characters are removed when empty */
+        private String replacement = "";
+    }
+
+    @Getter
+    @Setter
+    public static class Filter {
+
+        /* Scan the JSON request bodies before they are bound */
+        private boolean enabled;
+        private List<String> urlPatterns = new ArrayList<>(Collections.singletonList("/*"));
+    }
+
+    @Getter
+    @Setter
+    public static class Deep {
+
+        /* Nested objects further from the validated object are not visited in deep mode */
+        private int maxDepth = 32;
+    }
+
+    @Getter
+    @Setter
+    public static class Limits {
+
+        /* Longer values are reported without being scanned, no limit when 0 */
+        private int maxFieldLength;
+        /* Characters scanned per validation, nested objects included, no limit when 0 */
+        private long maxTotalCharacters;
+        /* Checked before each field, no limit when unset */
+        private Duration timeBudget;
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+
+        /* Unicode general categories, e.g. L, Lu, Nd or Zs */
+        private List<String> categories = new ArrayList<>();
+        /* Hexadecimal code point ranges, e.g. 0020-007E or U+4E00-U+9FFF, or single code points */
+        private List<String> ranges = new ArrayList<>();
+        private int[] codePoints;
+    }
+
+    @Getter
+    @Setter
+    public static class Reload {
+
+        /* A YAML file overriding these properties, read again on every reload, e.g. file:./config/validation.yml */
+        private String location;
+        /* How often the file is checked for changes, never when unset */
+        private Duration checkInterval;
+    }
+
+    @Getter
+    @Setter
+    public static class Prewarm {
+
+        /* Build the metadata of the annotated types at startup, before the application reports ready */
+        private boolean enabled;
+        private List<String> basePackages = new ArrayList<>(Collections.singletonList("com.giftedconcepts"));
+        /* Synthetic validations per type to warm up the JIT, none when 0 */
+        private int warmUpIterations;
+    }
+
+    @Getter
+    @Setter
+    public static class Tenants {
+
+        /* Request header naming the tenant, requests without it use the global configuration */
+        private String header = "X-Tenant-Id";
+        /* The overrides by tenant, an unknown tenant uses the global configuration */
+        private Map<String, Tenant> definitions = new LinkedHashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Tenant {
+
+        /* Replaces the global list when set */
+        private int[] allowedLegalValidationCharacters;
+        /* Replace the global policies of the same names, which have to exist */
+        private Map<String, Policy> policies = new LinkedHashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Incremental {
+
+        /* Objects whose clean field fingerprints are kept for the next revalidation, nested objects included */
+        private long maximumSize = 10000;
+        /* Fingerprints of an object not revalidated for that long are evicted */
+        private Duration expireAfterAccess = Duration.ofMinutes(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Report {
 
+        /* Offending characters, with their offsets, in the structured report of a failed value */
+        private int maxOffsets = 8;
+    }
 }
@@ -0,0 +1,37 @@
+package com.giftedconcepts.validation.core.config;
+
+import com.giftedconcepts.validation.core.tenant.TenantContext;
+import com.giftedconcepts.validation.core.tenant.TenantHeaderFilter;
+import com.giftedconcepts.validation.core.tenant.TenantResolver;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * The tenant of a validation is read from the {@link TenantContext} of the thread, which the web application binds from
+ * the com.giftedconcepts.validate.annotation.tenants.header request header. A TenantResolver bean replaces both.
+ */
+@Configuration
+public class TenantConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TenantResolver tenantResolver() {
+        return TenantContext::getTenant;
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<TenantHeaderFilter> tenantHeaderFilter(
+            final ApplicationProperties applicationProperties) {
+
+        /* Before the request filter, which reads the code points of the tenant */
+        final FilterRegistrationBean<TenantHeaderFilter> registration = new FilterRegistrationBean<>(
+                new TenantHeaderFilter(applicationProperties.getTenants().getHeader()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -1,23 +1,29 @@
 package com.giftedconcepts.validation.core.config;
 
-import com.google.common.collect.Lists;
+import com.giftedconcepts.validation.core.policy.CleanValueCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.Arrays;
-import java.util.List;
-
 @Configuration
 @RequiredArgsConstructor
 public class ValidationConfig {
 
-    @Bean
-    public List<Character> allowedLegalCharacters(final ApplicationProperties applicationProperties){
-        List<Character> characters = Lists.newArrayList();
+    public static final String CLEAN_VALUES_CACHE_NAME = "unprintable.characters.clean.values";
 
-        Arrays.stream(applicationProperties.getAllowedLegalValidationCharacters()).forEach(s -> characters.add((char)s));
+    @Bean
+    public CleanValueCache cleanValueCache(final ApplicationProperties applicationProperties,
+                                           final MeterRegistry meterRegistry) {
 
-        return  characters;
+        final ApplicationProperties.CleanValues cleanValues = applicationProperties.getCleanValues();
+        final CleanValueCache cleanValueCache = new CleanValueCache(cleanValues.isEnabled(),
+                cleanValues.getMaximumWeight(), cleanValues.getMinimumLength());
+        if (cleanValueCache.isEnabled()) {
+            /* cache.gets tagged hit or miss, cache.evictions, cache.size */
+            GuavaCacheMetrics.monitor(meterRegistry, cleanValueCache.getCache(), CLEAN_VALUES_CACHE_NAME);
+        }
+        return cleanValueCache;
     }
 }
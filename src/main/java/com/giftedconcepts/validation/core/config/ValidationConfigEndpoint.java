@@ -0,0 +1,45 @@
+package com.giftedconcepts.validation.core.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /actuator/validationconfig shows the current validation configuration, a POST reloads it through
+ * {@link ValidationSnapshots#reload()}.
+ */
+@Component
+@Endpoint(id = "validationconfig")
+@RequiredArgsConstructor
+public class ValidationConfigEndpoint {
+
+    private final ValidationSnapshots validationSnapshots;
+
+    @ReadOperation
+    public Map<String, Object> snapshot() {
+        return describe(validationSnapshots.get());
+    }
+
+    @WriteOperation
+    public Map<String, Object> reload() {
+        return describe(validationSnapshots.reload());
+    }
+
+    private static Map<String, Object> describe(final ValidationSnapshot snapshot) {
+        final Map<String, Object> description = new LinkedHashMap<>();
+        description.put("version", snapshot.getVersion());
+        description.put("policies", snapshot.getPolicies().getPolicies().keySet());
+        description.put("failFast", snapshot.isFailFast());
+        description.put("maxDepth", snapshot.getMaxDepth());
+        description.put("maxFieldLength", snapshot.getMaxFieldLength());
+        description.put("maxTotalCharacters", snapshot.getMaxTotalCharacters());
+        description.put("timeBudgetNanos", snapshot.getTimeBudgetNanos());
+
+        return description;
+    }
+}
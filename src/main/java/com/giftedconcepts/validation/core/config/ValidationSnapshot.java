@@ -0,0 +1,188 @@
+package com.giftedconcepts.validation.core.config;
+
+import com.giftedconcepts.validation.core.policy.CharacterPolicies;
+import com.giftedconcepts.validation.core.policy.CharacterPolicy;
+import com.giftedconcepts.validation.core.policy.CharacterPolicyRegistry;
+import com.giftedconcepts.validation.core.policy.CleanValueCache;
+import com.giftedconcepts.validation.core.policy.CodePointSet;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The compiled state of the validation for one version of the configuration: the character policies, the union of
+ * their code points for the request filter, failFast, the limits and the size of the violation reports. A snapshot is
+ * immutable, a validation reads it once and sees the same version to the end, whatever reload happens meanwhile.
+ * <p>
+ * The policies of every tenant are compiled with the snapshot into a view of it, so an invalid tenant definition fails
+ * the compilation like any other policy. The snapshot keeps every view until it is replaced, a validation never
+ * compiles a tenant.
+ */
+@Getter
+public final class ValidationSnapshot {
+
+    private final long version;
+    /* Null for the global configuration */
+    private final String tenant;
+    private final CharacterPolicyRegistry policies;
+    /* The code points allowed by any policy, null when a policy is not a lookup table */
+    private final CodePointSet allowedCodePoints;
+    private final boolean failFast;
+    private final int maxDepth;
+    /* The limits, 0 when there is none */
+    private final int maxFieldLength;
+    private final long maxTotalCharacters;
+    private final long timeBudgetNanos;
+    /* Offending characters in the structured report of a violation */
+    private final int maxReportedOffsets;
+    /* The views of the tenants, null in a view */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, ValidationSnapshot> tenants;
+
+    private ValidationSnapshot(final long version, final CharacterPolicyRegistry policies,
+                               final CodePointSet allowedCodePoints, final ApplicationProperties applicationProperties,
+                               final CleanValueCache cleanValueCache) {
+        final ApplicationProperties.Limits limits = applicationProperties.getLimits();
+        this.version = version;
+        this.tenant = null;
+        this.policies = policies;
+        this.allowedCodePoints = allowedCodePoints;
+        this.failFast = applicationProperties.isFailFast();
+        this.maxDepth = applicationProperties.getDeep().getMaxDepth();
+        this.maxFieldLength = Math.max(0, limits.getMaxFieldLength());
+        this.maxTotalCharacters = Math.max(0L, limits.getMaxTotalCharacters());
+        this.timeBudgetNanos = limits.getTimeBudget() == null || limits.getTimeBudget().isNegative() ? 0L
+                : limits.getTimeBudget().toNanos();
+        this.maxReportedOffsets = Math.max(1, applicationProperties.getReport().getMaxOffsets());
+
+        /* Every tenant is compiled now, not by the request which uses it first */
+        final Map<String, ValidationSnapshot> views = new LinkedHashMap<>();
+        for (final Map.Entry<String, ApplicationProperties.Tenant> entry
+                : applicationProperties.getTenants().getDefinitions().entrySet()) {
+            final String name = entry.getKey();
+            /* Every annotated field has a policy whatever the tenant */
+            for (final String policyName : entry.getValue().getPolicies().keySet()) {
+                if (!applicationProperties.getPolicies().containsKey(policyName)) {
+                    throw new IllegalStateException("The tenant " + name + " replaces the unknown character "
+                            + "policy " + policyName);
+                }
+            }
+            try {
+                views.put(name, compileTenant(name, entry.getValue(), cleanValueCache));
+            } catch (final IllegalArgumentException e) {
+                throw new IllegalArgumentException("The tenant " + name + " has an invalid character policy: "
+                        + e.getMessage(), e);
+            }
+        }
+        this.tenants = Collections.unmodifiableMap(views);
+    }
+
+    private ValidationSnapshot(final ValidationSnapshot global, final String tenant,
+                               final CharacterPolicyRegistry policies, final CodePointSet allowedCodePoints) {
+        this.version = global.version;
+        this.tenant = tenant;
+        this.policies = policies;
+        this.allowedCodePoints = allowedCodePoints;
+        this.failFast = global.failFast;
+        this.maxDepth = global.maxDepth;
+        this.maxFieldLength = global.maxFieldLength;
+        this.maxTotalCharacters = global.maxTotalCharacters;
+        this.timeBudgetNanos = global.timeBudgetNanos;
+        this.maxReportedOffsets = global.maxReportedOffsets;
+        this.tenants = null;
+    }
+
+    /**
+     * @return true if a validation has a character or a time budget to keep track of.
+     */
+    public boolean isBudgeted() {
+        return maxTotalCharacters > 0L || timeBudgetNanos > 0L;
+    }
+
+    /**
+     * Selects the view of a tenant. The views are compiled with the snapshot, a call is a single map lookup, however
+     * many tenants there are.
+     *
+     * @param name the tenant, null for the global configuration
+     * @return the view of the tenant, or this snapshot if the tenant has no definition.
+     */
+    public ValidationSnapshot forTenant(final String name) {
+        if (name == null || tenants == null) {
+            return this;
+        }
+        final ValidationSnapshot view = tenants.get(name);
+
+        return view == null ? this : view;
+    }
+
+    /**
+     * The policies of a tenant are the global ones, with the legal policy and the named policies it defines replaced.
+     * The policies it does not replace are shared with the global configuration.
+     */
+    private ValidationSnapshot compileTenant(final String name, final ApplicationProperties.Tenant definition,
+                                             final CleanValueCache cleanValueCache) {
+        final Map<String, CharacterPolicy> compiled = new LinkedHashMap<>(policies.getPolicies());
+        if (definition.getAllowedLegalValidationCharacters() != null) {
+            compiled.put(CharacterPolicyRegistry.LEGAL, cleanValueCache.wrap(CharacterPolicies.printableAsciiAnd(
+                    definition.getAllowedLegalValidationCharacters())));
+        }
+        definition.getPolicies().forEach((policyName, policy) -> compiled.put(policyName, cleanValueCache.wrap(
+                CharacterPolicies.fromDefinition(policy.getCategories(), policy.getRanges(), policy.getCodePoints()))));
+
+        return new ValidationSnapshot(this, name, new CharacterPolicyRegistry(compiled),
+                union(compiled.values()));
+    }
+
+    /**
+     * Compiles the policies of the configuration, wrapped by the clean values cache. The cache entries of a previous
+     * snapshot are keyed by its own policies, they are never seen by this one and age out.
+     *
+     * @param version               the version of the snapshot
+     * @param applicationProperties the configuration
+     * @param cleanValueCache       the clean values cache
+     * @return the snapshot.
+     * @throws IllegalStateException    if a named policy uses a reserved name, or a tenant replaces an unknown policy
+     * @throws IllegalArgumentException if a named policy or a policy of a tenant is invalid
+     */
+    public static ValidationSnapshot compile(final long version, final ApplicationProperties applicationProperties,
+                                             final CleanValueCache cleanValueCache) {
+
+        final Map<String, CharacterPolicy> policies = new LinkedHashMap<>();
+        policies.put(CharacterPolicyRegistry.BASE, cleanValueCache.wrap(CharacterPolicies.fromUnprintableRegex(
+                applicationProperties.getUnprintableRegex())));
+        policies.put(CharacterPolicyRegistry.LEGAL, cleanValueCache.wrap(CharacterPolicies.printableAsciiAnd(
+                applicationProperties.getAllowedLegalValidationCharacters())));
+        applicationProperties.getPolicies().forEach((name, policy) -> {
+            if (policies.containsKey(name)) {
+                throw new IllegalStateException("The character policy name " + name + " is reserved");
+            }
+            policies.put(name, cleanValueCache.wrap(CharacterPolicies.fromDefinition(policy.getCategories(),
+                    policy.getRanges(), policy.getCodePoints())));
+        });
+
+        return new ValidationSnapshot(version, new CharacterPolicyRegistry(policies), union(policies.values()),
+                applicationProperties, cleanValueCache);
+    }
+
+    /**
+     * A character is rejected by the request filter only if it is not allowed by any policy.
+     *
+     * @return the code points allowed by any of the policies, or null if one of them is not a lookup table.
+     */
+    private static CodePointSet union(final Collection<CharacterPolicy> policies) {
+        final CodePointSet.Builder allowed = CodePointSet.builder();
+        for (final CharacterPolicy policy : policies) {
+            final CodePointSet allowedCodePoints = policy.getAllowedCodePoints();
+            if (allowedCodePoints == null) {
+                return null;
+            }
+            allowed.addAll(allowedCodePoints);
+        }
+
+        return allowed.build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.giftedconcepts.validation.core.config;
+
+import com.giftedconcepts.validation.core.policy.CleanValueCache;
+import com.giftedconcepts.validation.core.tenant.TenantResolver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the current {@link ValidationSnapshot} behind a single volatile reference. A validation reads the reference
+ * once, without a lock; a reload binds the configuration again, compiles a new snapshot off the hot path and swaps it
+ * in, so the in-flight validations finish on the version they started with.
+ * <p>
+ * A reload reads the properties from the YAML file at {@code reload.location}, which override the ones of the
+ * application, and is triggered through the validationconfig Actuator endpoint, or when the file changes if
+ * {@code reload.checkInterval} is set. A configuration which does not compile is rejected, the current snapshot stays.
+ * <p>
+ * The validators read {@link #current()}, the view of the snapshot for the tenant named by the {@link TenantResolver}.
+ */
+@Slf4j
+@Component
+public class ValidationSnapshots {
+
+    private static final String RELOAD_PROPERTY_SOURCE_NAME = "unprintableCharactersReload";
+
+    private final ConfigurableEnvironment environment;
+    private final CleanValueCache cleanValueCache;
+    private final TenantResolver tenantResolver;
+    private final boolean filterEnabled;
+    private final Resource location;
+    private final ScheduledExecutorService watcher;
+    private volatile ValidationSnapshot snapshot;
+    /* Only read and written by the watcher thread */
+    private long lastModified;
+
+    public ValidationSnapshots(final ApplicationProperties applicationProperties,
+                               final CleanValueCache cleanValueCache, final ConfigurableEnvironment environment,
+                               final ResourceLoader resourceLoader, final TenantResolver tenantResolver) {
+        this.environment = environment;
+        this.cleanValueCache = cleanValueCache;
+        this.tenantResolver = tenantResolver;
+        this.filterEnabled = applicationProperties.getFilter().isEnabled();
+        final ApplicationProperties.Reload reload = applicationProperties.getReload();
+        this.location = reload.getLocation() == null || reload.getLocation().isEmpty() ? null
+                : resourceLoader.getResource(reload.getLocation());
+        this.lastModified = lastModified();
+        this.snapshot = compile(1L, location == null ? applicationProperties : bind());
+
+        final Duration checkInterval = reload.getCheckInterval();
+        if (location != null && checkInterval != null && !checkInterval.isZero() && !checkInterval.isNegative()) {
+            watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "validation-config-watcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            watcher.scheduleWithFixedDelay(this::reloadIfModified, checkInterval.toMillis(),
+                    checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            watcher = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the current snapshot.
+     */
+    public ValidationSnapshot get() {
+        return snapshot;
+    }
+
+    /**
+     * @return the view of the current snapshot for the tenant of the current validation.
+     * @throws IllegalArgumentException if a policy of the tenant is invalid
+     */
+    public ValidationSnapshot current() {
+        return snapshot.forTenant(tenantResolver.resolveTenant());
+    }
+
+    /**
+     * Binds the configuration again and swaps in the snapshot compiled from it. Reloads are serialized, the
+     * validations never wait for them.
+     *
+     * @return the new snapshot.
+     * @throws RuntimeException if the configuration cannot be read or compiled, the current snapshot stays
+     */
+    public synchronized ValidationSnapshot reload() {
+        final ValidationSnapshot reloaded = compile(snapshot.getVersion() + 1, bind());
+        snapshot = reloaded;
+        log.info("Validation configuration version {} loaded, policies {}.", reloaded.getVersion(),
+                reloaded.getPolicies().getPolicies().keySet());
+
+        return reloaded;
+    }
+
+    private void reloadIfModified() {
+        final long modified = lastModified();
+        if (modified == lastModified) {
+            return;
+        }
+        lastModified = modified;
+        try {
+            reload();
+        } catch (final RuntimeException e) {
+            log.error("The validation configuration {} was not reloaded: {}", location, e.getMessage());
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return location == null || !location.exists() ? 0L : location.lastModified();
+        } catch (final IOException e) {
+            return 0L;
+        }
+    }
+
+    private ValidationSnapshot compile(final long version, final ApplicationProperties applicationProperties) {
+        final ValidationSnapshot compiled = ValidationSnapshot.compile(version, applicationProperties,
+                cleanValueCache);
+        if (filterEnabled && compiled.getAllowedCodePoints() == null) {
+            throw new IllegalStateException("The request filter needs policies deciding code point by code point, "
+                    + "the unprintableRegex has to be a single character class.");
+        }
+
+        return compiled;
+    }
+
+    /**
+     * @return the properties of the reload file, if any, over the ones of the environment.
+     */
+    private ApplicationProperties bind() {
+        final MutablePropertySources sources = new MutablePropertySources();
+        if (location != null && location.exists()) {
+            try {
+                for (final PropertySource<?> source : new YamlPropertySourceLoader().load(
+                        RELOAD_PROPERTY_SOURCE_NAME, location)) {
+                    sources.addLast(source);
+                }
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Cannot read " + location, e);
+            }
+        }
+        environment.getPropertySources().forEach(sources::addLast);
+
+        return new Binder(ConfigurationPropertySources.from(sources), new PropertySourcesPlaceholdersResolver(sources))
+                .bindOrCreate(ApplicationProperties.PREFIX, ApplicationProperties.class);
+    }
+}
@@ -0,0 +1,37 @@
+package com.giftedconcepts.validation.core.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.giftedconcepts.validation.core.web.UnprintableCharactersExceptionResolver;
+import com.giftedconcepts.validation.core.web.UnprintableCharactersFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The opt-in scan of the JSON request bodies, enabled by com.giftedconcepts.validate.annotation.filter.enabled.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "com.giftedconcepts.validate.annotation.filter", name = "enabled", havingValue = "true")
+public class WebConfig {
+
+    @Bean
+    public UnprintableCharactersExceptionResolver unprintableCharactersExceptionResolver(
+            final ObjectMapper objectMapper) {
+
+        return new UnprintableCharactersExceptionResolver(objectMapper);
+    }
+
+    @Bean
+    public FilterRegistrationBean<UnprintableCharactersFilter> unprintableCharactersFilter(
+            final ApplicationProperties applicationProperties, final ValidationSnapshots validationSnapshots,
+            final UnprintableCharactersExceptionResolver unprintableCharactersExceptionResolver) {
+
+        /* The snapshot is read for every request, a reload applies to the next one, the tenant is already bound */
+        final FilterRegistrationBean<UnprintableCharactersFilter> registration = new FilterRegistrationBean<>(
+                new UnprintableCharactersFilter(() -> validationSnapshots.current().getAllowedCodePoints(),
+                        unprintableCharactersExceptionResolver));
+        registration.setUrlPatterns(applicationProperties.getFilter().getUrlPatterns());
+        return registration;
+    }
+}
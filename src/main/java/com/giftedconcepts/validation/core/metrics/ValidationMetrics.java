@@ -0,0 +1,133 @@
+package com.giftedconcepts.validation.core.metrics;
+
+import com.giftedconcepts.validation.core.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for the unprintable characters validation, tagged by validated class and by path (base, legal or
+ * skip), and the slow validation threshold. The settings are read once at startup; when both the meters and the slow
+ * validation log are disabled the validator does not even read the clock.
+ */
+@Component
+public class ValidationMetrics {
+
+    public static final String VALIDATIONS = "unprintable.characters.validations";
+    public static final String FIELDS = "unprintable.characters.fields";
+    public static final String SCANNED = "unprintable.characters.scanned";
+    public static final String VIOLATIONS = "unprintable.characters.violations";
+    public static final String CLASS_TAG = "class";
+    public static final String PATH_TAG = "path";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long slowValidationThresholdNanos;
+    private final double slowValidationLogSampleRate;
+    private final Map<Class<?>, ClassMeters> classMeters = new ConcurrentHashMap<>();
+
+    public ValidationMetrics(final MeterRegistry meterRegistry, final ApplicationProperties applicationProperties) {
+        final ApplicationProperties.Metrics metrics = applicationProperties.getMetrics();
+        this.meterRegistry = meterRegistry;
+        this.enabled = metrics.isEnabled();
+        this.slowValidationThresholdNanos = metrics.getSlowValidationThreshold() == null ? 0L
+                : metrics.getSlowValidationThreshold().toNanos();
+        this.slowValidationLogSampleRate = metrics.getSlowValidationLogSampleRate();
+    }
+
+    /**
+     * @return true if the validator has to time the validations, for the meters or for the slow validation log.
+     */
+    public boolean isTimed() {
+        return enabled || slowValidationThresholdNanos > 0;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param elapsedNanos duration of a validation
+     * @return true if the validation is slow and was picked by the sampling to be logged.
+     */
+    public boolean isSlowAndSampled(final long elapsedNanos) {
+        return slowValidationThresholdNanos > 0 && elapsedNanos > slowValidationThresholdNanos
+                && ThreadLocalRandom.current().nextDouble() < slowValidationLogSampleRate;
+    }
+
+    public void recordValidation(final Class<?> type, final long elapsedNanos) {
+        meters(type).validations.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param type       the validated class
+     * @param path       the validation path of the fields
+     * @param fields     number of fields on the path
+     * @param characters number of characters scanned
+     * @param violations number of fields which failed the validation
+     */
+    public void recordPath(final Class<?> type, final Path path, final int fields, final long characters,
+                           final int violations) {
+        final PathMeters pathMeters = meters(type).paths[path.ordinal()];
+        if (fields > 0) {
+            pathMeters.fields.increment(fields);
+        }
+        if (characters > 0) {
+            pathMeters.scanned.increment(characters);
+        }
+        if (violations > 0) {
+            pathMeters.violations.increment(violations);
+        }
+    }
+
+    private ClassMeters meters(final Class<?> type) {
+        return classMeters.computeIfAbsent(type, key -> new ClassMeters(meterRegistry, key.getName()));
+    }
+
+    public enum Path {
+        BASE,
+        LEGAL,
+        SKIP;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final class ClassMeters {
+
+        private final Timer validations;
+        private final PathMeters[] paths = new PathMeters[Path.values().length];
+
+        private ClassMeters(final MeterRegistry meterRegistry, final String className) {
+            validations = Timer.builder(VALIDATIONS).description("Time spent validating unprintable characters")
+                    .tag(CLASS_TAG, className).register(meterRegistry);
+            for (final Path path : Path.values()) {
+                paths[path.ordinal()] = new PathMeters(meterRegistry, className, path.tag());
+            }
+        }
+    }
+
+    private static final class PathMeters {
+
+        private final Counter fields;
+        private final Counter scanned;
+        private final Counter violations;
+
+        private PathMeters(final MeterRegistry meterRegistry, final String className, final String path) {
+            fields = Counter.builder(FIELDS).description("String fields validated")
+                    .tag(CLASS_TAG, className).tag(PATH_TAG, path).register(meterRegistry);
+            scanned = Counter.builder(SCANNED).description("Characters scanned").baseUnit("characters")
+                    .tag(CLASS_TAG, className).tag(PATH_TAG, path).register(meterRegistry);
+            violations = Counter.builder(VIOLATIONS).description("Fields which failed the validation")
+                    .tag(CLASS_TAG, className).tag(PATH_TAG, path).register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.giftedconcepts.validation.core.policy;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles the configured character rules into {@link CharacterPolicy} instances. Compilation happens once, at startup,
+ * so validation never has to touch the regex engine for the common configurations.
+ */
+public final class CharacterPolicies {
+
+    /* \p{Print}, \P{Print}, \pL, \d, \s, \w ... */
+    private static final Pattern ESCAPED_CLASS = Pattern.compile("\\\\(?:[pP](?:\\{[\\w =&-]+}|[A-Za-z])|[dDsSwWhHvV])");
+
+    private static final int FIRST_PRINTABLE_ASCII = ' ';
+    private static final int LAST_PRINTABLE_ASCII = '~';
+
+    /* The Unicode general categories by name, as in \p{Lu}, and their one letter groups, as in \p{L} */
+    private static final Map<String, byte[]> GENERAL_CATEGORIES = createGeneralCategories();
+
+    private CharacterPolicies() {
+    }
+
+    /**
+     * @param allowedCodePoints code points allowed in addition to printable ASCII
+     * @return a lookup table policy allowing printable ASCII and the given code points.
+     */
+    public static CharacterPolicy printableAsciiAnd(final int... allowedCodePoints) {
+        final CodePointSet.Builder builder = CodePointSet.builder().addRange(FIRST_PRINTABLE_ASCII,
+                LAST_PRINTABLE_ASCII);
+        if (allowedCodePoints != null) {
+            for (final int codePoint : allowedCodePoints) {
+                builder.add(codePoint);
+            }
+        }
+
+        return new CodePointSetPolicy(builder.build());
+    }
+
+    /**
+     * Compiles a named policy of the configuration.
+     *
+     * @param categories        Unicode general categories allowed, e.g. "L", "Lu", "Nd" or "Zs"
+     * @param ranges            hexadecimal code point ranges allowed, e.g. "0020-007E" or "U+4E00-U+9FFF", or single
+     *                          code points
+     * @param allowedCodePoints code points allowed
+     * @return a lookup table policy allowing the union of the categories, the ranges and the code points.
+     */
+    public static CharacterPolicy fromDefinition(final Collection<String> categories, final Collection<String> ranges,
+                                                 final int... allowedCodePoints) {
+        final CodePointSet.Builder builder = CodePointSet.builder();
+
+        if (categories != null && !categories.isEmpty()) {
+            final boolean[] allowedTypes = new boolean[Byte.MAX_VALUE];
+            for (final String category : categories) {
+                final byte[] types = GENERAL_CATEGORIES.get(category.trim());
+                if (types == null) {
+                    throw new IllegalArgumentException("Unknown Unicode general category " + category);
+                }
+                for (final byte type : types) {
+                    allowedTypes[type] = true;
+                }
+            }
+            for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; ++codePoint) {
+                if (allowedTypes[Character.getType(codePoint)]) {
+                    builder.add(codePoint);
+                }
+            }
+        }
+        if (ranges != null) {
+            for (final String range : ranges) {
+                final int separator = range.indexOf('-');
+                final int start = parseCodePoint(separator < 0 ? range : range.substring(0, separator));
+                builder.addRange(start, separator < 0 ? start : parseCodePoint(range.substring(separator + 1)));
+            }
+        }
+        if (allowedCodePoints != null) {
+            for (final int codePoint : allowedCodePoints) {
+                builder.add(codePoint);
+            }
+        }
+
+        return new CodePointSetPolicy(builder.build());
+    }
+
+    private static int parseCodePoint(final String value) {
+        final String trimmed = value.trim();
+        final String hex = trimmed.startsWith("U+") || trimmed.startsWith("u+") ? trimmed.substring(2) : trimmed;
+        try {
+            return Integer.parseInt(hex, 16);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid hexadecimal code point " + value, e);
+        }
+    }
+
+    private static Map<String, byte[]> createGeneralCategories() {
+        final Map<String, byte[]> categories = new HashMap<>();
+        categories.put("Lu", new byte[]{Character.UPPERCASE_LETTER});
+        categories.put("Ll", new byte[]{Character.LOWERCASE_LETTER});
+        categories.put("Lt", new byte[]{Character.TITLECASE_LETTER});
+        categories.put("Lm", new byte[]{Character.MODIFIER_LETTER});
+        categories.put("Lo", new byte[]{Character.OTHER_LETTER});
+        categories.put("Mn", new byte[]{Character.NON_SPACING_MARK});
+        categories.put("Mc", new byte[]{Character.COMBINING_SPACING_MARK});
+        categories.put("Me", new byte[]{Character.ENCLOSING_MARK});
+        categories.put("Nd", new byte[]{Character.DECIMAL_DIGIT_NUMBER});
+        categories.put("Nl", new byte[]{Character.LETTER_NUMBER});
+        categories.put("No", new byte[]{Character.OTHER_NUMBER});
+        categories.put("Pc", new byte[]{Character.CONNECTOR_PUNCTUATION});
+        categories.put("Pd", new byte[]{Character.DASH_PUNCTUATION});
+        categories.put("Ps", new byte[]{Character.START_PUNCTUATION});
+        categories.put("Pe", new byte[]{Character.END_PUNCTUATION});
+        categories.put("Pi", new byte[]{Character.INITIAL_QUOTE_PUNCTUATION});
+        categories.put("Pf", new byte[]{Character.FINAL_QUOTE_PUNCTUATION});
+        categories.put("Po", new byte[]{Character.OTHER_PUNCTUATION});
+        categories.put("Sm", new byte[]{Character.MATH_SYMBOL});
+        categories.put("Sc", new byte[]{Character.CURRENCY_SYMBOL});
+        categories.put("Sk", new byte[]{Character.MODIFIER_SYMBOL});
+        categories.put("So", new byte[]{Character.OTHER_SYMBOL});
+        categories.put("Zs", new byte[]{Character.SPACE_SEPARATOR});
+        categories.put("Zl", new byte[]{Character.LINE_SEPARATOR});
+        categories.put("Zp", new byte[]{Character.PARAGRAPH_SEPARATOR});
+        categories.put("Cc", new byte[]{Character.CONTROL});
+        categories.put("Cf", new byte[]{Character.FORMAT});
+        categories.put("Cs", new byte[]{Character.SURROGATE});
+        categories.put("Co", new byte[]{Character.PRIVATE_USE});
+        categories.put("Cn", new byte[]{Character.UNASSIGNED});
+
+        /* The one letter groups, L for Lu, Ll, Lt, Lm and Lo */
+        final Map<String, byte[]> groups = new HashMap<>();
+        for (final Map.Entry<String, byte[]> category : categories.entrySet()) {
+            groups.merge(category.getKey().substring(0, 1), category.getValue(), (first, second) -> {
+                final byte[] merged = Arrays.copyOf(first, first.length + second.length);
+                System.arraycopy(second, 0, merged, first.length, second.length);
+                return merged;
+            });
+        }
+        categories.putAll(groups);
+
+        return Collections.unmodifiableMap(categories);
+    }
+
+    /**
+     * @param unprintableRegex regex matching the characters which are not allowed
+     * @return a lookup table policy when the regex is a plain character class such as the default \P{Print},
+     * otherwise a policy which searches the value with the compiled regex.
+     */
+    public static CharacterPolicy fromUnprintableRegex(final String unprintableRegex) {
+        final Pattern pattern = Pattern.compile(unprintableRegex);
+
+        if (isCharacterClass(unprintableRegex)) {
+            return new CodePointSetPolicy(complementOf(pattern));
+        }
+
+        return new RegexCharacterPolicy(pattern);
+    }
+
+    /**
+     * @param regex the regex source
+     * @return true if the regex is a single character class which always matches exactly one code point.
+     */
+    static boolean isCharacterClass(final String regex) {
+        if (".".equals(regex) || ESCAPED_CLASS.matcher(regex).matches()) {
+            return true;
+        }
+        if (regex.length() < 2 || regex.charAt(0) != '[') {
+            return false;
+        }
+
+        /* A bracket expression, possibly with nested classes, which closes on the last character of the regex */
+        int depth = 0;
+        for (int i = 0; i < regex.length(); ++i) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                ++i;
+            } else if (c == '[') {
+                ++depth;
+            } else if (c == ']' && --depth == 0) {
+                return i == regex.length() - 1;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Builds the set of code points the single character class pattern does not match. Matcher.find() tests every
+     * char index, including the low half of a surrogate pair, so a supplementary code point is only allowed when
+     * neither it nor its low surrogate matches.
+     */
+    private static CodePointSet complementOf(final Pattern characterClass) {
+        final CodePointBuffer buffer = new CodePointBuffer();
+        final Matcher matcher = characterClass.matcher(buffer);
+        final CodePointSet.Builder builder = CodePointSet.builder();
+
+        final boolean[] lowSurrogateAllowed = new boolean[Character.MAX_LOW_SURROGATE - Character.MIN_LOW_SURROGATE + 1];
+        for (int codePoint = 0; codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT; ++codePoint) {
+            buffer.set(codePoint);
+            if (!matcher.reset().matches()) {
+                builder.add(codePoint);
+                if (Character.isLowSurrogate((char) codePoint)) {
+                    lowSurrogateAllowed[codePoint - Character.MIN_LOW_SURROGATE] = true;
+                }
+            }
+        }
+        for (int codePoint = Character.MIN_SUPPLEMENTARY_CODE_POINT; codePoint <= Character.MAX_CODE_POINT;
+             ++codePoint) {
+            if (lowSurrogateAllowed[Character.lowSurrogate(codePoint) - Character.MIN_LOW_SURROGATE]) {
+                buffer.set(codePoint);
+                if (!matcher.reset().matches()) {
+                    builder.add(codePoint);
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Reusable CharSequence holding a single code point, so building the table does not allocate a String per code
+     * point.
+     */
+    private static final class CodePointBuffer implements CharSequence {
+
+        private final char[] chars = new char[2];
+        private int length;
+
+        void set(final int codePoint) {
+            length = Character.toChars(codePoint, chars, 0);
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return chars[index];
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return new String(chars, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.giftedconcepts.validation.core.policy;
+
+/**
+ * A compiled rule deciding which characters a String field may contain. Implementations are immutable and safe to
+ * share between threads.
+ */
+public interface CharacterPolicy {
+
+    /**
+     * @param value     the value to scan
+     * @param fromIndex the char index to start scanning from
+     * @return the char index of the first character which is not allowed, or -1 if there is none.
+     */
+    int indexOfViolation(CharSequence value, int fromIndex);
+
+    /**
+     * @param value the value scanned
+     * @param index a char index returned by {@link #indexOfViolation(CharSequence, int)}
+     * @return the char index after the violation starting at index: after its code point for a lookup table, after the
+     * whole match for a regex.
+     */
+    default int endOfViolation(final CharSequence value, final int index) {
+        return index + Character.charCount(Character.codePointAt(value, index));
+    }
+
+    /**
+     * @param value the value to scan
+     * @return true if every character of the value is allowed.
+     */
+    default boolean isValid(final CharSequence value) {
+        return indexOfViolation(value, 0) < 0;
+    }
+
+    /**
+     * @return the allowed code points, if the policy decides code point by code point, null otherwise (a regex which
+     * is not a single character class).
+     */
+    default CodePointSet getAllowedCodePoints() {
+        return null;
+    }
+}
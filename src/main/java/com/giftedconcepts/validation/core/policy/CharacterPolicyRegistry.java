@@ -0,0 +1,68 @@
+package com.giftedconcepts.validation.core.policy;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The character policies by name: the base and legal policies, and the named policies of the configuration. Every
+ * policy is compiled at startup, selecting one is a single map lookup per field and never changes how the characters
+ * are scanned.
+ */
+public class CharacterPolicyRegistry {
+
+    public static final String BASE = "base";
+    public static final String LEGAL = "legal";
+
+    private final Map<String, CharacterPolicy> policies;
+    private final CharacterPolicy base;
+    private final CharacterPolicy legal;
+
+    /**
+     * @param policies the policies by name, including {@link #BASE} and {@link #LEGAL}
+     */
+    public CharacterPolicyRegistry(final Map<String, CharacterPolicy> policies) {
+        if (!policies.containsKey(BASE) || !policies.containsKey(LEGAL)) {
+            throw new IllegalArgumentException("The " + BASE + " and " + LEGAL + " policies are required");
+        }
+        this.policies = Collections.unmodifiableMap(new LinkedHashMap<>(policies));
+        this.base = policies.get(BASE);
+        this.legal = policies.get(LEGAL);
+    }
+
+    /**
+     * @param name the policy name
+     * @return the policy.
+     * @throws IllegalArgumentException if there is no policy with that name
+     */
+    public CharacterPolicy get(final String name) {
+        final CharacterPolicy policy = policies.get(name);
+        if (policy == null) {
+            throw new IllegalArgumentException("Unknown character policy " + name + ", the policies are "
+                    + policies.keySet());
+        }
+
+        return policy;
+    }
+
+    /**
+     * @param name  the policy name of a field, null when it has none
+     * @param legal true if the field allows the legal characters
+     * @return the named policy if there is a name, otherwise the legal or the base policy.
+     * @throws IllegalArgumentException if there is no policy with that name
+     */
+    public CharacterPolicy select(final String name, final boolean legal) {
+        if (name != null) {
+            return get(name);
+        }
+
+        return legal ? this.legal : base;
+    }
+
+    /**
+     * @return every policy by name, in configuration order after base and legal.
+     */
+    public Map<String, CharacterPolicy> getPolicies() {
+        return policies;
+    }
+}
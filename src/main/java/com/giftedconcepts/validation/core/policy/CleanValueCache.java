@@ -0,0 +1,125 @@
+package com.giftedconcepts.validation.core.policy;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * A bounded cache of the values already found clean by a {@link CharacterPolicy}, so a value which keeps coming back
+ * (a department name, a boilerplate legal statement) is not scanned again. Only Strings of at least minimumLength
+ * chars are cached, shorter ones are scanned faster than they are looked up. The cache is bounded by the total length
+ * of the cached values.
+ * <p>
+ * A lookup hashes the value (once per String instance, the hash is cached by String) and compares it with the cached
+ * value, which is an identity check when the same instance comes back.
+ */
+public final class CleanValueCache {
+
+    private final boolean enabled;
+    private final int minimumLength;
+    private final Cache<Key, Boolean> cache;
+
+    /**
+     * @param enabled       false to leave the policies unwrapped
+     * @param maximumWeight total length, in chars, of the cached values
+     * @param minimumLength shortest value which is cached
+     */
+    public CleanValueCache(final boolean enabled, final long maximumWeight, final int minimumLength) {
+        this.enabled = enabled;
+        this.minimumLength = minimumLength;
+        this.cache = CacheBuilder.newBuilder().maximumWeight(maximumWeight)
+                .weigher((final Key key, final Boolean clean) -> key.value.length()).recordStats().build();
+    }
+
+    /**
+     * @return the policy checking the cache before scanning, or the policy itself if the cache is disabled.
+     */
+    public CharacterPolicy wrap(final CharacterPolicy policy) {
+        return enabled ? new CachingPolicy(policy) : policy;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the hit, miss and eviction counts.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public Cache<?, ?> getCache() {
+        return cache;
+    }
+
+    private final class CachingPolicy implements CharacterPolicy {
+
+        private final CharacterPolicy policy;
+
+        private CachingPolicy(final CharacterPolicy policy) {
+            this.policy = policy;
+        }
+
+        @Override
+        public int indexOfViolation(final CharSequence value, final int fromIndex) {
+            if (fromIndex != 0 || !(value instanceof String) || value.length() < minimumLength) {
+                return policy.indexOfViolation(value, fromIndex);
+            }
+
+            final Key key = new Key(policy, (String) value);
+            if (cache.getIfPresent(key) != null) {
+                return -1;
+            }
+            final int index = policy.indexOfViolation(value, 0);
+            if (index < 0) {
+                cache.put(key, Boolean.TRUE);
+            }
+
+            return index;
+        }
+
+        @Override
+        public int endOfViolation(final CharSequence value, final int index) {
+            return policy.endOfViolation(value, index);
+        }
+
+        @Override
+        public CodePointSet getAllowedCodePoints() {
+            return policy.getAllowedCodePoints();
+        }
+    }
+
+    private static final class Key {
+
+        private final CharacterPolicy policy;
+        private final String value;
+
+        private Key(final CharacterPolicy policy, final String value) {
+            this.policy = policy;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) other;
+
+            return policy == key.policy && value.equals(key.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(policy) + value.hashCode();
+        }
+    }
+}
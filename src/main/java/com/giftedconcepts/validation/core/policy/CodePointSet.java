@@ -0,0 +1,231 @@
+package com.giftedconcepts.validation.core.policy;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * An immutable set of Unicode code points. The Basic Multilingual Plane is held in a dense bitset so a lookup is a
+ * single array access; supplementary code points are held as a short sorted list of ranges.
+ * <p>
+ * When the set holds the whole printable ASCII range, Strings are prescanned a word at a time: the chars are copied
+ * in blocks, packed four 16 bit lanes to a long, and a group of 8 chars which is entirely printable ASCII is accepted
+ * with a few bitwise operations. Only a group holding another character goes through the table lookup, and a value
+ * which turns out to be mostly not ASCII is scanned with the table lookup only.
+ */
+public final class CodePointSet {
+
+    private static final int BMP_SIZE = Character.MIN_SUPPLEMENTARY_CODE_POINT;
+    /* Chars checked together by the printable ASCII prescan */
+    private static final int GROUP_SIZE = 8;
+    /* Shorter values are not worth copying */
+    private static final int PRESCAN_MIN_LENGTH = 2 * GROUP_SIZE;
+    private static final int BLOCK_SIZE = 512;
+    private static final ThreadLocal<char[]> BLOCKS = ThreadLocal.withInitial(() -> new char[BLOCK_SIZE]);
+
+    private static final long LANE_HIGH_BITS = 0xFF80FF80FF80FF80L;
+    private static final long LANE_BIT_7 = 0x0080008000800080L;
+    /* 0x80 - ' ', sets bit 7 of the lanes which are at least ' ' */
+    private static final long LANE_SPACE_OFFSET = 0x0060006000600060L;
+    /* 0x80 - DEL, sets bit 7 of the lanes which are DEL */
+    private static final long LANE_DEL_OFFSET = 0x0001000100010001L;
+
+    private final long[] bmp;
+    /* Sorted, non overlapping inclusive ranges: start0, end0, start1, end1, ... */
+    private final int[] supplementaryRanges;
+    private final boolean printableAscii;
+
+    private CodePointSet(final long[] bmp, final int[] supplementaryRanges) {
+        this.bmp = bmp;
+        this.supplementaryRanges = supplementaryRanges;
+        /* ' '..'?' and '@'..'~' */
+        this.printableAscii = bmp[0] >>> ' ' == 0xFFFFFFFFL && bmp[1] << 1 == 0xFFFFFFFFFFFFFFFEL;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean contains(final int codePoint) {
+        if (codePoint < BMP_SIZE) {
+            return codePoint >= 0 && (bmp[codePoint >>> 6] & (1L << codePoint)) != 0;
+        }
+
+        return containsSupplementary(codePoint);
+    }
+
+    /**
+     * Scans the value code point by code point. A valid surrogate pair is looked up as the supplementary code point it
+     * encodes; an unpaired surrogate is looked up as itself.
+     *
+     * @param value     the value to scan
+     * @param fromIndex the char index to start scanning from
+     * @return the char index of the first code point which is not in the set, or -1 if there is none.
+     */
+    public int indexNotIn(final CharSequence value, final int fromIndex) {
+        if (printableAscii && value instanceof String && value.length() - fromIndex >= PRESCAN_MIN_LENGTH) {
+            return indexNotInPrescanned((String) value, fromIndex);
+        }
+
+        return indexNotInFrom(value, fromIndex, value.length());
+    }
+
+    /**
+     * @return the char index of the first code point starting before {@code to} which is not in the set, or the
+     * bitwise complement of the index following the last code point scanned (at least {@code to}) if there is none.
+     */
+    private int indexNotInFrom(final CharSequence value, final int fromIndex, final int to) {
+        int i = fromIndex;
+        while (i < to) {
+            final char c = value.charAt(i);
+            if (!Character.isSurrogate(c)) {
+                if ((bmp[c >>> 6] & (1L << c)) == 0) {
+                    return i;
+                }
+                ++i;
+            } else {
+                final int codePoint = Character.codePointAt(value, i);
+                if (!contains(codePoint)) {
+                    return i;
+                }
+                i += Character.charCount(codePoint);
+            }
+        }
+
+        return to == value.length() ? -1 : ~i;
+    }
+
+    private int indexNotInPrescanned(final String value, final int fromIndex) {
+        final int length = value.length();
+        final char[] block = BLOCKS.get();
+        int i = fromIndex;
+        scan:
+        while (length - i >= GROUP_SIZE) {
+            final int count = Math.min(BLOCK_SIZE, (length - i) & -GROUP_SIZE);
+            value.getChars(i, i + count, block, 0);
+            int suspectGroups = 0;
+            for (int j = 0; j < count; j += GROUP_SIZE) {
+                if (isPrintableAscii(pack(block, j), pack(block, j + 4))) {
+                    continue;
+                }
+                if (++suspectGroups > count / GROUP_SIZE / 4) {
+                    /* Mostly not ASCII, the prescan would only add to the table lookup */
+                    return indexNotInFrom(value, i + j, length);
+                }
+                /* Table lookup for the group holding a suspect character */
+                final int groupEnd = i + j + GROUP_SIZE;
+                final int index = indexNotInFrom(value, i + j, groupEnd);
+                if (index >= 0 || groupEnd == length) {
+                    return index;
+                }
+                if (~index != groupEnd) {
+                    /* A surrogate pair spans the next group, the block is out of step */
+                    i = ~index;
+                    continue scan;
+                }
+            }
+            i += count;
+        }
+
+        return i < length ? indexNotInFrom(value, i, length) : -1;
+    }
+
+    private static long pack(final char[] block, final int offset) {
+        return block[offset] | (long) block[offset + 1] << 16 | (long) block[offset + 2] << 32
+                | (long) block[offset + 3] << 48;
+    }
+
+    /**
+     * @return true if every 16 bit lane of both words is between ' ' and '~'.
+     */
+    private static boolean isPrintableAscii(final long first, final long second) {
+        /* With every lane below 0x80 adding an offset to a lane cannot carry into the next one */
+        return ((first | second) & LANE_HIGH_BITS) == 0
+                && ((first + LANE_SPACE_OFFSET) & (second + LANE_SPACE_OFFSET) & LANE_BIT_7) == LANE_BIT_7
+                && (((first + LANE_DEL_OFFSET) | (second + LANE_DEL_OFFSET)) & LANE_BIT_7) == 0;
+    }
+
+    private boolean containsSupplementary(final int codePoint) {
+        int low = 0;
+        int high = supplementaryRanges.length / 2 - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (codePoint < supplementaryRanges[middle * 2]) {
+                high = middle - 1;
+            } else if (codePoint > supplementaryRanges[middle * 2 + 1]) {
+                low = middle + 1;
+            } else {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public static final class Builder {
+
+        private final BitSet codePoints = new BitSet(Character.MAX_CODE_POINT + 1);
+
+        private Builder() {
+        }
+
+        public Builder add(final int codePoint) {
+            checkCodePoint(codePoint);
+            codePoints.set(codePoint);
+            return this;
+        }
+
+        /**
+         * @param start first code point of the range, inclusive
+         * @param end   last code point of the range, inclusive
+         */
+        public Builder addRange(final int start, final int end) {
+            checkCodePoint(start);
+            checkCodePoint(end);
+            if (end < start) {
+                throw new IllegalArgumentException("Invalid code point range " + start + "-" + end);
+            }
+            codePoints.set(start, end + 1);
+            return this;
+        }
+
+        public Builder addAll(final CodePointSet other) {
+            for (int i = 0; i < other.bmp.length; ++i) {
+                final long word = other.bmp[i];
+                for (int bit = 0; bit < Long.SIZE; ++bit) {
+                    if ((word & (1L << bit)) != 0) {
+                        codePoints.set(i * Long.SIZE + bit);
+                    }
+                }
+            }
+            for (int i = 0; i < other.supplementaryRanges.length; i += 2) {
+                codePoints.set(other.supplementaryRanges[i], other.supplementaryRanges[i + 1] + 1);
+            }
+            return this;
+        }
+
+        public CodePointSet build() {
+            final long[] bmp = Arrays.copyOf(codePoints.get(0, BMP_SIZE).toLongArray(), BMP_SIZE / Long.SIZE);
+
+            int[] ranges = new int[8];
+            int count = 0;
+            int start = codePoints.nextSetBit(BMP_SIZE);
+            while (start >= 0) {
+                final int end = codePoints.nextClearBit(start) - 1;
+                if (count + 2 > ranges.length) {
+                    ranges = Arrays.copyOf(ranges, ranges.length * 2);
+                }
+                ranges[count++] = start;
+                ranges[count++] = end;
+                start = codePoints.nextSetBit(end + 1);
+            }
+
+            return new CodePointSet(bmp, Arrays.copyOf(ranges, count));
+        }
+
+        private static void checkCodePoint(final int codePoint) {
+            if (!Character.isValidCodePoint(codePoint)) {
+                throw new IllegalArgumentException("Invalid code point " + codePoint);
+            }
+        }
+    }
+}
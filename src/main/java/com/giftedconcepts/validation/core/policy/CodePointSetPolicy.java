@@ -0,0 +1,28 @@
+package com.giftedconcepts.validation.core.policy;
+
+/**
+ * A {@link CharacterPolicy} backed by a precomputed set of allowed code points. A scan is a single linear pass with
+ * one table lookup per character.
+ */
+public final class CodePointSetPolicy implements CharacterPolicy {
+
+    private final CodePointSet allowed;
+
+    public CodePointSetPolicy(final CodePointSet allowed) {
+        this.allowed = allowed;
+    }
+
+    public CodePointSet getAllowed() {
+        return allowed;
+    }
+
+    @Override
+    public CodePointSet getAllowedCodePoints() {
+        return allowed;
+    }
+
+    @Override
+    public int indexOfViolation(final CharSequence value, final int fromIndex) {
+        return allowed.indexNotIn(value, fromIndex);
+    }
+}
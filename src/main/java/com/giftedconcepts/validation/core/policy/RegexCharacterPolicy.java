@@ -0,0 +1,36 @@
+package com.giftedconcepts.validation.core.policy;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link CharacterPolicy} for an unprintable regex which cannot be reduced to a lookup table. The pattern is compiled
+ * once and any match found in the value is a violation.
+ */
+public final class RegexCharacterPolicy implements CharacterPolicy {
+
+    private final Pattern unprintablePattern;
+
+    public RegexCharacterPolicy(final Pattern unprintablePattern) {
+        this.unprintablePattern = unprintablePattern;
+    }
+
+    @Override
+    public int indexOfViolation(final CharSequence value, final int fromIndex) {
+        final Matcher matcher = unprintablePattern.matcher(value);
+
+        return matcher.find(fromIndex) ? matcher.start() : -1;
+    }
+
+    /**
+     * A match may span several code points, e.g. a CR LF pair, it is a single violation. An empty match covers the
+     * code point at the index, so a scan resuming there always moves on.
+     */
+    @Override
+    public int endOfViolation(final CharSequence value, final int index) {
+        final Matcher matcher = unprintablePattern.matcher(value);
+        final int next = CharacterPolicy.super.endOfViolation(value, index);
+
+        return matcher.find(index) && matcher.start() == index ? Math.max(matcher.end(), next) : next;
+    }
+}
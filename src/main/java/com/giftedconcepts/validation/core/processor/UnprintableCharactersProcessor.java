@@ -0,0 +1,435 @@
+package com.giftedconcepts.validation.core.processor;
+
+import com.giftedconcepts.validation.core.annotations.StringContainer;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharacters;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharactersAccessor;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharactersAllowLegal;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharactersPolicy;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharactersSkip;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Generates an {@link UnprintableCharactersAccessor} for every class annotated with {@link UnprintableCharacters}.
+ * The accessor reads the fields holding Strings (String, collections, arrays, maps and Optional, see
+ * {@link StringContainer}) through their getters (a Lombok generated getter counts), with
+ * {@link UnprintableCharactersSkip} and {@link UnprintableCharactersAllowLegal} already resolved, so the validator
+ * needs no reflection for the type. The fields holding objects of annotated types are read as well, for deep mode.
+ * The String fields are written through their setters, for the sanitizer, when there are some. When a field cannot
+ * be read without reflection nothing is generated and the validator keeps using reflection for that type.
+ */
+@SupportedAnnotationTypes("com.giftedconcepts.validation.core.annotations.UnprintableCharacters")
+public class UnprintableCharactersProcessor extends AbstractProcessor {
+
+    private static final String LOMBOK_GETTER = "lombok.Getter";
+    private static final Set<String> LOMBOK_CLASS_GETTERS = new HashSet<>(Arrays.asList(LOMBOK_GETTER, "lombok.Data",
+            "lombok.Value"));
+    private static final String LOMBOK_SETTER = "lombok.Setter";
+    private static final Set<String> LOMBOK_CLASS_SETTERS = new HashSet<>(Arrays.asList(LOMBOK_SETTER, "lombok.Data"));
+    private static final Set<String> LOMBOK_HIDDEN_ACCESS_LEVELS = new HashSet<>(Arrays.asList("PRIVATE", "NONE"));
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (final Element element : roundEnv.getElementsAnnotatedWith(UnprintableCharacters.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            final TypeElement type = (TypeElement) element;
+            if (!isAccessibleFromPackage(type)) {
+                note(type, "is private, falling back to reflection.");
+                continue;
+            }
+            final List<String> registrations = createRegistrations(type);
+            if (registrations != null) {
+                writeAccessor(type, registrations);
+            }
+        }
+
+        /* Do not claim the annotation, other processors may be interested in it as well */
+        return false;
+    }
+
+    /**
+     * @return one describe() statement per field, or null if one of the fields can only be read through reflection.
+     */
+    private List<String> createRegistrations(final TypeElement type) {
+        final Set<String> identifierFields = new HashSet<>(Arrays.asList(
+                type.getAnnotation(UnprintableCharacters.class).identifierFields()));
+        final String declaringClass = simpleBinaryName(type);
+        final List<String> registrations = new ArrayList<>();
+
+        for (final VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            final String name = field.getSimpleName().toString();
+            final StringContainer container = stringContainer(field.asType());
+            final boolean isAnyString = container != null;
+            final boolean isString = isAnyString && field.getAnnotation(UnprintableCharactersSkip.class) == null;
+            if (isAnyString && !isString) {
+                registrations.add("fields.addSkipped(\"" + name + "\");");
+            }
+            /* A map may hold String keys and nested values */
+            final StringContainer nested = field.getAnnotation(UnprintableCharactersSkip.class) != null
+                    ? null : nestedContainer(field.asType());
+            final boolean isIdentifier = identifierFields.remove(name);
+            if (!isString && nested == null && !isIdentifier) {
+                continue;
+            }
+
+            final String readExpression = createReadExpression(type, field);
+            if (readExpression == null) {
+                note(type, "field " + name + " has no getter, falling back to reflection.");
+                return null;
+            }
+            final String reader = "object -> " + readExpression;
+            if (isString) {
+                final boolean legal = field.getAnnotation(UnprintableCharactersAllowLegal.class) != null;
+                final UnprintableCharactersPolicy policy = field.getAnnotation(UnprintableCharactersPolicy.class);
+                if (policy != null) {
+                    registrations.add("fields.addPolicy(\"" + name + "\", \"" + escape(policy.value()) + "\");");
+                }
+                if (container != StringContainer.NONE) {
+                    registrations.add("fields.addStrings(\"" + name + "\", \"" + declaringClass + "." + name
+                            + "\", " + legal + ", " + StringContainer.class.getCanonicalName() + "." + container.name()
+                            + ", " + reader + ");");
+                    if (nested != null) {
+                        registrations.add(createNestedRegistration(name, nested, reader));
+                    }
+                    continue;
+                }
+                registrations.add("fields.addString(\"" + name + "\", \"" + declaringClass + "." + name + "\", "
+                        + legal + ", " + reader + ");");
+                final String writeStatement = createWriteStatement(type, field);
+                if (writeStatement != null) {
+                    registrations.add("fields.addWriter(\"" + name + "\", (object, value) -> " + writeStatement
+                            + ");");
+                }
+            } else if (nested != null) {
+                registrations.add(createNestedRegistration(name, nested, reader));
+            } else {
+                registrations.add("fields.addReader(\"" + name + "\", " + reader + ");");
+            }
+        }
+
+        for (final String missing : identifierFields) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Identifier field " + missing + " is not declared by " + type.getQualifiedName(), type);
+        }
+
+        return registrations;
+    }
+
+    /**
+     * @return how a field of the type holds Strings, or null if it does not hold any.
+     */
+    private StringContainer stringContainer(final TypeMirror type) {
+        final Types types = processingEnv.getTypeUtils();
+        if (isString(type)) {
+            return StringContainer.NONE;
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isString(((ArrayType) type).getComponentType()) ? StringContainer.ARRAY : null;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        final List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        final TypeMirror erasure = types.erasure(type);
+        if (arguments.size() == 1 && isString(arguments.get(0))
+                && types.isAssignable(erasure, erasure(Collection.class))) {
+            return StringContainer.COLLECTION;
+        }
+        if (arguments.size() == 1 && isString(arguments.get(0)) && types.isSameType(erasure, erasure(Optional.class))) {
+            return StringContainer.OPTIONAL;
+        }
+        if (arguments.size() == 2 && types.isAssignable(erasure, erasure(Map.class))) {
+            final boolean keys = isString(arguments.get(0));
+            final boolean values = isString(arguments.get(1));
+            if (keys) {
+                return values ? StringContainer.MAP_KEYS_AND_VALUES : StringContainer.MAP_KEYS;
+            }
+            return values ? StringContainer.MAP_VALUES : null;
+        }
+
+        return null;
+    }
+
+    private static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String createNestedRegistration(final String name, final StringContainer nested,
+                                                   final String reader) {
+        return "fields.addNested(\"" + name + "\", " + StringContainer.class.getCanonicalName() + "." + nested.name()
+                + ", " + reader + ");";
+    }
+
+    /**
+     * @return how a field of the type holds objects of a type annotated with {@link UnprintableCharacters}, or null if
+     * it does not hold any.
+     */
+    private StringContainer nestedContainer(final TypeMirror type) {
+        final Types types = processingEnv.getTypeUtils();
+        if (isAnnotated(type)) {
+            return StringContainer.NONE;
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isAnnotated(((ArrayType) type).getComponentType()) ? StringContainer.ARRAY : null;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        final List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        final TypeMirror erasure = types.erasure(type);
+        if (arguments.size() == 1 && isAnnotated(arguments.get(0))
+                && types.isAssignable(erasure, erasure(Collection.class))) {
+            return StringContainer.COLLECTION;
+        }
+        if (arguments.size() == 1 && isAnnotated(arguments.get(0))
+                && types.isSameType(erasure, erasure(Optional.class))) {
+            return StringContainer.OPTIONAL;
+        }
+        if (arguments.size() == 2 && isAnnotated(arguments.get(1))
+                && types.isAssignable(erasure, erasure(Map.class))) {
+            return StringContainer.MAP_VALUES;
+        }
+
+        return null;
+    }
+
+    private static boolean isAnnotated(final TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((DeclaredType) type).asElement().getAnnotation(UnprintableCharacters.class) != null;
+    }
+
+    private boolean isString(final TypeMirror type) {
+        return processingEnv.getTypeUtils().isSameType(type, erasure(String.class));
+    }
+
+    private TypeMirror erasure(final Class<?> type) {
+        return processingEnv.getTypeUtils().erasure(
+                processingEnv.getElementUtils().getTypeElement(type.getName()).asType());
+    }
+
+    /**
+     * @return a Java expression reading the field from a variable named "object", or null if there is no getter and
+     * the field is private.
+     */
+    private String createReadExpression(final TypeElement type, final VariableElement field) {
+        final String name = field.getSimpleName().toString();
+        final String target = "((" + type.getQualifiedName() + ") object)";
+        final String getter = "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        final String lombokGetter = lombokGetterName(field);
+
+        if (hasGetter(type, getter)) {
+            return target + "." + getter + "()";
+        }
+        if (hasGetter(type, lombokGetter) || hasLombokGetter(type, field)) {
+            return target + "." + lombokGetter + "()";
+        }
+        if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+            return target + "." + name;
+        }
+
+        return null;
+    }
+
+    /**
+     * @return a Java statement writing a variable named "value" to the String field of a variable named "object", or
+     * null if there is no setter and the field is private or final. The sanitizer writes such fields by reflection.
+     */
+    private String createWriteStatement(final TypeElement type, final VariableElement field) {
+        if (field.getModifiers().contains(Modifier.FINAL)) {
+            return null;
+        }
+        final String name = field.getSimpleName().toString();
+        final String target = "((" + type.getQualifiedName() + ") object)";
+        final String setter = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+
+        if (hasSetter(type, setter) || hasLombokSetter(type, field)) {
+            return target + "." + setter + "((java.lang.String) value)";
+        }
+        if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+            return target + "." + name + " = (java.lang.String) value";
+        }
+
+        return null;
+    }
+
+    private static boolean hasSetter(final TypeElement type, final String setter) {
+        for (final ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals(setter) && method.getParameters().size() == 1
+                    && method.getParameters().get(0).asType().toString().equals(String.class.getName())
+                    && !method.getModifiers().contains(Modifier.PRIVATE)
+                    && !method.getModifiers().contains(Modifier.STATIC)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean hasLombokSetter(final TypeElement type, final VariableElement field) {
+        final AnnotationMirror fieldSetter = findAnnotation(field, Collections.singleton(LOMBOK_SETTER));
+        if (fieldSetter != null) {
+            return isVisibleAccessLevel(fieldSetter);
+        }
+        final AnnotationMirror typeSetter = findAnnotation(type, LOMBOK_CLASS_SETTERS);
+
+        return typeSetter != null && isVisibleAccessLevel(typeSetter);
+    }
+
+    private static boolean hasGetter(final TypeElement type, final String getter) {
+        for (final ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals(getter) && method.getParameters().isEmpty()
+                    && !method.getModifiers().contains(Modifier.PRIVATE)
+                    && !method.getModifiers().contains(Modifier.STATIC)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return the name of the getter Lombok generates for the field: isActive() for a primitive boolean active, and
+     * isActive() as well for a primitive boolean isActive, getActive() for any other type.
+     */
+    private static String lombokGetterName(final VariableElement field) {
+        final String name = field.getSimpleName().toString();
+        if (field.asType().getKind() != TypeKind.BOOLEAN) {
+            return "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+        if (name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))) {
+            return name;
+        }
+
+        return "is" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * Lombok may run after this processor, so its getters are recognised from the annotations it will act on.
+     */
+    private static boolean hasLombokGetter(final TypeElement type, final VariableElement field) {
+        final AnnotationMirror fieldGetter = findAnnotation(field, Collections.singleton(LOMBOK_GETTER));
+        if (fieldGetter != null) {
+            return isVisibleAccessLevel(fieldGetter);
+        }
+        final AnnotationMirror typeGetter = findAnnotation(type, LOMBOK_CLASS_GETTERS);
+
+        return typeGetter != null && isVisibleAccessLevel(typeGetter);
+    }
+
+    private static AnnotationMirror findAnnotation(final Element element, final Set<String> annotationNames) {
+        for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            final TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationNames.contains(annotationType.getQualifiedName().toString())) {
+                return mirror;
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean isVisibleAccessLevel(final AnnotationMirror lombokAnnotation) {
+        for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : lombokAnnotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("value")) {
+                return !LOMBOK_HIDDEN_ACCESS_LEVELS.contains(String.valueOf(entry.getValue().getValue()));
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isAccessibleFromPackage(final TypeElement type) {
+        Element element = type;
+        while (element instanceof TypeElement) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the binary name without the package, matching what the reflective path reports, e.g. "Outer$Inner".
+     */
+    private String simpleBinaryName(final TypeElement type) {
+        final String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+
+        return binaryName.substring(binaryName.lastIndexOf('.') + 1);
+    }
+
+    private void writeAccessor(final TypeElement type, final List<String> registrations) {
+        final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        final String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        final String accessorName = UnprintableCharactersAccessor.accessorClassName(
+                processingEnv.getElementUtils().getBinaryName(type).toString());
+        final String accessorSimpleName = accessorName.substring(accessorName.lastIndexOf('.') + 1);
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(accessorName, type).openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+            writer.write("/**\n * Generated by " + getClass().getSimpleName() + " for " + type.getQualifiedName()
+                    + ". Do not edit.\n */\n");
+            writer.write("public final class " + accessorSimpleName + " implements "
+                    + UnprintableCharactersAccessor.class.getCanonicalName() + " {\n\n");
+            writer.write("    @Override\n");
+            writer.write("    public void describe(final Fields fields) {\n");
+            for (final String registration : registrations) {
+                writer.write("        " + registration + "\n");
+            }
+            writer.write("    }\n}\n");
+        } catch (final IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write " + accessorName + ": " + e.getMessage(), type);
+        }
+    }
+
+    private void note(final TypeElement type, final String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                "No UnprintableCharactersAccessor generated, " + type.getQualifiedName() + " " + message, type);
+    }
+}
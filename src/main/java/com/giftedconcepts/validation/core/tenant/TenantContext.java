@@ -0,0 +1,57 @@
+package com.giftedconcepts.validation.core.tenant;
+
+/**
+ * The tenant bound to the current thread, set by {@link TenantHeaderFilter} for the duration of a request. Work handed
+ * to another thread has to bind the tenant there again:
+ * <pre>
+ * final String tenant = TenantContext.getTenant();
+ * executor.submit(() -&gt; {
+ *     try (TenantContext.Scope ignored = TenantContext.open(tenant)) {
+ *         return validator.validate(object);
+ *     }
+ * });
+ * </pre>
+ */
+public final class TenantContext {
+
+    private static final ThreadLocal<String> TENANT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * @return the tenant bound to the current thread, null if there is none.
+     */
+    public static String getTenant() {
+        return TENANT.get();
+    }
+
+    /**
+     * Binds the tenant to the current thread until the scope is closed, the previous tenant is bound again then.
+     *
+     * @param tenant the tenant, null for the global configuration
+     * @return the scope to close.
+     */
+    public static Scope open(final String tenant) {
+        final String previous = TENANT.get();
+        set(tenant);
+
+        return () -> set(previous);
+    }
+
+    private static void set(final String tenant) {
+        if (tenant == null) {
+            /* Nothing is left behind on a pooled thread */
+            TENANT.remove();
+        } else {
+            TENANT.set(tenant);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,34 @@
+package com.giftedconcepts.validation.core.tenant;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Binds the tenant named by a request header to the {@link TenantContext} while the request is handled. A request
+ * without the header is validated with the global configuration.
+ */
+public class TenantHeaderFilter extends OncePerRequestFilter {
+
+    private final String header;
+
+    /**
+     * @param header the request header naming the tenant
+     */
+    public TenantHeaderFilter(final String header) {
+        this.header = header;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final String tenant = request.getHeader(header);
+        try (TenantContext.Scope ignored = TenantContext.open(tenant == null || tenant.isEmpty() ? null : tenant)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
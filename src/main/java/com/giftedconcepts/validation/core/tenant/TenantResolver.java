@@ -0,0 +1,14 @@
+package com.giftedconcepts.validation.core.tenant;
+
+/**
+ * Names the tenant whose character policies apply to the current validation. The default resolver reads the
+ * {@link TenantContext} of the thread, a bean of this type replaces it.
+ */
+@FunctionalInterface
+public interface TenantResolver {
+
+    /**
+     * @return the tenant of the current validation, null for the global configuration.
+     */
+    String resolveTenant();
+}
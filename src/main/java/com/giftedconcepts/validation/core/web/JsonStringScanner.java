@@ -0,0 +1,261 @@
+package com.giftedconcepts.validation.core.web;
+
+import com.giftedconcepts.validation.core.policy.CodePointSet;
+
+import java.util.Arrays;
+
+/**
+ * Scans a UTF-8 JSON document as its bytes arrive, checking the code points of the string values against a set of
+ * allowed code points. The UTF-8 sequences and the JSON escapes are decoded incrementally, nothing is buffered but the
+ * current object keys, so the JSON path of a violation can be reported. Field names are not checked.
+ * <p>
+ * The scanner is not a JSON validator: malformed UTF-8 and malformed JSON are left to the parser.
+ */
+final class JsonStringScanner {
+
+    private static final byte OBJECT = 0;
+    private static final byte ARRAY = 1;
+    /* Longer keys are truncated in the reported path */
+    private static final int MAX_KEY_LENGTH = 256;
+    private static final int NO_SURROGATE = -1;
+
+    private final CodePointSet allowed;
+
+    /* The enclosing containers */
+    private byte[] types = new byte[16];
+    private int[] indexes = new int[16];
+    private StringBuilder[] keys = new StringBuilder[16];
+    private int depth;
+    private boolean expectKey;
+
+    private boolean inString;
+    private boolean inKey;
+    private boolean escape;
+    private long escapeOffset;
+    /* -1 outside of a \\uXXXX escape, otherwise the number of hex digits read */
+    private int unicodeDigits = -1;
+    private int unicodeValue;
+    private int pendingHighSurrogate = NO_SURROGATE;
+    private long pendingHighSurrogateOffset;
+
+    private int utf8Remaining;
+    private int utf8CodePoint;
+    private long utf8Offset;
+
+    /* Bytes scanned */
+    private long offset;
+
+    JsonStringScanner(final CodePointSet allowed) {
+        this.allowed = allowed;
+    }
+
+    void update(final byte[] bytes, final int from, final int length) throws UnprintableCharactersInRequestException {
+        final int to = from + length;
+        for (int i = from; i < to; ++i) {
+            update(bytes[i]);
+        }
+    }
+
+    void update(final byte b) throws UnprintableCharactersInRequestException {
+        if (!inString) {
+            structure(b);
+        } else if (unicodeDigits >= 0) {
+            unicodeEscape(b);
+        } else if (escape) {
+            escape = false;
+            simpleEscape(b);
+        } else if (b == '\\') {
+            escape = true;
+            escapeOffset = offset;
+        } else if (b == '"') {
+            flushHighSurrogate();
+            inString = false;
+        } else {
+            utf8(b);
+        }
+        ++offset;
+    }
+
+    private void structure(final byte b) {
+        switch (b) {
+            case '{':
+                push(OBJECT);
+                expectKey = true;
+                break;
+            case '[':
+                push(ARRAY);
+                break;
+            case '}':
+            case ']':
+                if (depth > 0) {
+                    --depth;
+                }
+                break;
+            case ',':
+                if (depth > 0 && types[depth - 1] == ARRAY) {
+                    ++indexes[depth - 1];
+                } else {
+                    expectKey = true;
+                }
+                break;
+            case ':':
+                expectKey = false;
+                break;
+            case '"':
+                inString = true;
+                inKey = depth > 0 && types[depth - 1] == OBJECT && expectKey;
+                if (inKey) {
+                    keys[depth - 1].setLength(0);
+                }
+                break;
+            default:
+                /* Whitespace, numbers and literals */
+                break;
+        }
+    }
+
+    private void simpleEscape(final byte b) throws UnprintableCharactersInRequestException {
+        switch (b) {
+            case 'u':
+                unicodeDigits = 0;
+                unicodeValue = 0;
+                return;
+            case 'n':
+                codePoint('\n', escapeOffset);
+                return;
+            case 'r':
+                codePoint('\r', escapeOffset);
+                return;
+            case 't':
+                codePoint('\t', escapeOffset);
+                return;
+            case 'b':
+                codePoint('\b', escapeOffset);
+                return;
+            case 'f':
+                codePoint('\f', escapeOffset);
+                return;
+            default:
+                /* \" \\ \/ */
+                codePoint(b & 0xFF, escapeOffset);
+        }
+    }
+
+    private void unicodeEscape(final byte b) throws UnprintableCharactersInRequestException {
+        final int digit = Character.digit(b, 16);
+        if (digit < 0) {
+            /* Malformed, left to the parser */
+            unicodeDigits = -1;
+            return;
+        }
+        unicodeValue = unicodeValue << 4 | digit;
+        if (++unicodeDigits < 4) {
+            return;
+        }
+        unicodeDigits = -1;
+
+        final char unit = (char) unicodeValue;
+        if (pendingHighSurrogate != NO_SURROGATE && Character.isLowSurrogate(unit)) {
+            final int pair = Character.toCodePoint((char) pendingHighSurrogate, unit);
+            pendingHighSurrogate = NO_SURROGATE;
+            check(pair, pendingHighSurrogateOffset);
+        } else if (Character.isHighSurrogate(unit)) {
+            flushHighSurrogate();
+            pendingHighSurrogate = unit;
+            pendingHighSurrogateOffset = escapeOffset;
+        } else {
+            codePoint(unit, escapeOffset);
+        }
+    }
+
+    private void utf8(final byte b) throws UnprintableCharactersInRequestException {
+        if (utf8Remaining > 0) {
+            if ((b & 0xC0) == 0x80) {
+                utf8CodePoint = utf8CodePoint << 6 | b & 0x3F;
+                if (--utf8Remaining == 0) {
+                    codePoint(utf8CodePoint, utf8Offset);
+                }
+                return;
+            }
+            /* Malformed, left to the parser */
+            utf8Remaining = 0;
+        }
+        if (b >= 0) {
+            codePoint(b, offset);
+            return;
+        }
+        utf8Offset = offset;
+        if ((b & 0xE0) == 0xC0) {
+            utf8Remaining = 1;
+            utf8CodePoint = b & 0x1F;
+        } else if ((b & 0xF0) == 0xE0) {
+            utf8Remaining = 2;
+            utf8CodePoint = b & 0x0F;
+        } else if ((b & 0xF8) == 0xF0) {
+            utf8Remaining = 3;
+            utf8CodePoint = b & 0x07;
+        }
+    }
+
+    private void codePoint(final int codePoint, final long codePointOffset)
+            throws UnprintableCharactersInRequestException {
+        flushHighSurrogate();
+        check(codePoint, codePointOffset);
+    }
+
+    /**
+     * An escaped high surrogate which is not followed by an escaped low surrogate is a lone surrogate.
+     */
+    private void flushHighSurrogate() throws UnprintableCharactersInRequestException {
+        if (pendingHighSurrogate != NO_SURROGATE) {
+            final int highSurrogate = pendingHighSurrogate;
+            pendingHighSurrogate = NO_SURROGATE;
+            check(highSurrogate, pendingHighSurrogateOffset);
+        }
+    }
+
+    private void check(final int codePoint, final long codePointOffset)
+            throws UnprintableCharactersInRequestException {
+        if (inKey) {
+            final StringBuilder key = keys[depth - 1];
+            if (key.length() < MAX_KEY_LENGTH) {
+                key.appendCodePoint(codePoint);
+            }
+        } else if (!allowed.contains(codePoint)) {
+            throw new UnprintableCharactersInRequestException(path(), codePointOffset, codePoint);
+        }
+    }
+
+    private void push(final byte type) {
+        if (depth == types.length) {
+            types = Arrays.copyOf(types, depth * 2);
+            indexes = Arrays.copyOf(indexes, depth * 2);
+            keys = Arrays.copyOf(keys, depth * 2);
+        }
+        types[depth] = type;
+        indexes[depth] = 0;
+        if (type == OBJECT) {
+            if (keys[depth] == null) {
+                keys[depth] = new StringBuilder();
+            }
+            keys[depth].setLength(0);
+        }
+        ++depth;
+    }
+
+    /**
+     * @return the JSON path of the current value, e.g. "$.purchaseOrderLineItems[2].itemDescription".
+     */
+    String path() {
+        final StringBuilder path = new StringBuilder("$");
+        for (int i = 0; i < depth; ++i) {
+            if (types[i] == ARRAY) {
+                path.append('[').append(indexes[i]).append(']');
+            } else {
+                path.append('.').append(keys[i]);
+            }
+        }
+
+        return path.toString();
+    }
+}
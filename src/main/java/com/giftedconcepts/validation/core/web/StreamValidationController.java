@@ -0,0 +1,56 @@
+package com.giftedconcepts.validation.core.web;
+
+import com.giftedconcepts.validation.core.batch.StreamValidationService;
+import com.giftedconcepts.validation.core.config.ApplicationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * {@code POST /validation/{type}} validates an NDJSON upload of the objects registered under {@code stream.types}
+ * and streams the NDJSON results back while the upload is still being read, see {@link StreamValidationService}.
+ * <p>
+ * The response is written by the request thread, which blocks on the upload and on the client reading the results:
+ * the TCP flow control of both directions is the backpressure. The NDJSON media type is not scanned by
+ * {@link UnprintableCharactersFilter}, each record gets its own result instead of the whole upload being rejected.
+ * An upload over {@code stream.maxConcurrentStreams} is rejected with 503 before its body is read.
+ */
+@RestController
+public class StreamValidationController {
+
+    private final StreamValidationService streamValidationService;
+    private final Map<String, Class<?>> types;
+
+    public StreamValidationController(final StreamValidationService streamValidationService,
+                                      final ApplicationProperties applicationProperties) {
+        this.streamValidationService = streamValidationService;
+        this.types = applicationProperties.getStream().getTypes();
+    }
+
+    @PostMapping(path = "/validation/{type}", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void validate(@PathVariable final String type, final HttpServletRequest request,
+                         final HttpServletResponse response) throws IOException {
+        final Class<?> objectType = types.get(type);
+        if (objectType == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No stream validation type " + type);
+        }
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        try {
+            streamValidationService.validate(request.getInputStream(), response.getOutputStream(), objectType);
+        } catch (final RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
+}
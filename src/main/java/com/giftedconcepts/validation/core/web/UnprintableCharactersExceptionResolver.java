@@ -0,0 +1,79 @@
+package com.giftedconcepts.validation.core.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Turns an {@link UnprintableCharactersInRequestException}, usually wrapped in the HttpMessageNotReadableException of
+ * the JSON binding, into a 400 response reporting the JSON path and the byte offset of the character.
+ */
+@Slf4j
+public class UnprintableCharactersExceptionResolver implements HandlerExceptionResolver, Ordered {
+
+    private final ObjectMapper objectMapper;
+
+    public UnprintableCharactersExceptionResolver(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public ModelAndView resolveException(final HttpServletRequest request, final HttpServletResponse response,
+                                         final Object handler, final Exception ex) {
+        final UnprintableCharactersInRequestException rejection = findRejection(ex);
+        if (rejection == null) {
+            return null;
+        }
+        try {
+            reject(request, response, rejection);
+        } catch (final IOException e) {
+            log.warn("Unable to write the rejection of {}.", request.getRequestURI(), e);
+        }
+
+        return new ModelAndView();
+    }
+
+    void reject(final HttpServletRequest request, final HttpServletResponse response,
+                final UnprintableCharactersInRequestException rejection) throws IOException {
+        log.info("Rejected {} {}: {}", request.getMethod(), request.getRequestURI(), rejection.getMessage());
+
+        final Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", HttpStatus.BAD_REQUEST.getReasonPhrase());
+        body.put("message", rejection.getMessage());
+        body.put("path", rejection.getPath());
+        body.put("offset", rejection.getOffset());
+        body.put("codePoint", rejection.getCodePoint());
+
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    static UnprintableCharactersInRequestException findRejection(final Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause != null) {
+            if (cause instanceof UnprintableCharactersInRequestException) {
+                return (UnprintableCharactersInRequestException) cause;
+            }
+            cause = cause.getCause() == cause ? null : cause.getCause();
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,139 @@
+package com.giftedconcepts.validation.core.web;
+
+import com.giftedconcepts.validation.core.policy.CodePointSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * Scans JSON request bodies for unprintable characters while they are read, so a multi-MB body is rejected at the
+ * offending byte instead of after the whole object graph is bound and validated. A character is rejected only when
+ * no policy allows it: which policy applies to a value is only known once it is bound.
+ * <p>
+ * The scan throws an {@link UnprintableCharactersInRequestException} out of the body's input stream; it becomes a 400
+ * response through {@link UnprintableCharactersExceptionResolver}, or here when it reaches the filter.
+ */
+@Slf4j
+public class UnprintableCharactersFilter extends OncePerRequestFilter {
+
+    private final Supplier<CodePointSet> allowed;
+    private final UnprintableCharactersExceptionResolver exceptionResolver;
+
+    /**
+     * @param allowed           the code points allowed by any policy, read once per request
+     * @param exceptionResolver turns a rejection into a 400 response
+     */
+    public UnprintableCharactersFilter(final Supplier<CodePointSet> allowed,
+                                       final UnprintableCharactersExceptionResolver exceptionResolver) {
+        this.allowed = allowed;
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        final String contentType = request.getContentType();
+        if (contentType == null) {
+            return true;
+        }
+        try {
+            final MediaType mediaType = MediaType.parseMediaType(contentType);
+            return !MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)
+                    && !"json".equals(mediaType.getSubtypeSuffix());
+        } catch (final IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(new ScannedRequest(request, new JsonStringScanner(allowed.get())), response);
+        } catch (final ServletException | IOException | RuntimeException e) {
+            final UnprintableCharactersInRequestException rejection =
+                    UnprintableCharactersExceptionResolver.findRejection(e);
+            if (rejection == null || response.isCommitted()) {
+                throw e;
+            }
+            exceptionResolver.reject(request, response, rejection);
+        }
+    }
+
+    private static final class ScannedRequest extends HttpServletRequestWrapper {
+
+        private final JsonStringScanner scanner;
+        private ServletInputStream inputStream;
+
+        private ScannedRequest(final HttpServletRequest request, final JsonStringScanner scanner) {
+            super(request);
+            this.scanner = scanner;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new ScannedInputStream(super.getInputStream(), scanner);
+            }
+            return inputStream;
+        }
+    }
+
+    private static final class ScannedInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private final JsonStringScanner scanner;
+
+        private ScannedInputStream(final ServletInputStream delegate, final JsonStringScanner scanner) {
+            this.delegate = delegate;
+            this.scanner = scanner;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = delegate.read();
+            if (b >= 0) {
+                scanner.update((byte) b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            final int count = delegate.read(bytes, offset, length);
+            if (count > 0) {
+                scanner.update(bytes, offset, count);
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(final ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.giftedconcepts.validation.core.web;
+
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * Thrown while a JSON request body is read, at the first string value holding a character no policy allows. It is an
+ * IOException so that it interrupts whatever is reading the body, JSON binding included.
+ */
+@Getter
+public class UnprintableCharactersInRequestException extends IOException {
+
+    /* e.g. "$.purchaseOrderLineItems[2].itemDescription" */
+    private final String path;
+    /* Byte offset of the character, or of its escape sequence, in the request body */
+    private final long offset;
+    private final int codePoint;
+
+    public UnprintableCharactersInRequestException(final String path, final long offset, final int codePoint) {
+        super(String.format("Unprintable character U+%04X at %s, byte offset %d.", codePoint, path, offset));
+        this.path = path;
+        this.offset = offset;
+        this.codePoint = codePoint;
+    }
+}
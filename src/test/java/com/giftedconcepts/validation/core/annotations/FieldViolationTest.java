@@ -0,0 +1,92 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import com.giftedconcepts.validation.core.config.AbstractApplicationSystemIT;
+import com.giftedconcepts.validation.core.model.PurchaseOrder;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ValidatorFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FieldViolationTest extends AbstractApplicationSystemIT {
+
+    @Autowired
+    private ValidatorFactory validator;
+
+    @Test
+    void testOffendingCodePointsAndOffsets() {
+        final Map<String, FieldViolation> violations = validate(new ReportedModel("A-1",
+                "a" + (char) 7 + "b😀c" + (char) 1, Arrays.asList("clean", "bad" + (char) 27)));
+        assertEquals(2, violations.size());
+
+        final FieldViolation notes = violations.get("notes");
+        assertEquals(FieldViolation.Reason.CHARACTERS, notes.getReason());
+        assertEquals("FieldViolationTest$ReportedModel.notes", notes.getPropertyNode());
+        assertArrayEquals(new int[]{7, 0x1F600, 1}, notes.getCodePoints());
+        assertArrayEquals(new int[]{1, 3, 6}, notes.getOffsets());
+        assertFalse(notes.isTruncated());
+        assertEquals(Collections.singletonMap("id", "A-1"), notes.getIdentifiers());
+        assertEquals("Field FieldViolationTest$ReportedModel.notes has special characters which failed validation.",
+                notes.getMessage());
+
+        /* Each violation carries its own report */
+        final FieldViolation tag = violations.get("tags[1]");
+        assertEquals("FieldViolationTest$ReportedModel.tags[1]", tag.getPropertyNode());
+        assertArrayEquals(new int[]{27}, tag.getCodePoints());
+        assertArrayEquals(new int[]{3}, tag.getOffsets());
+    }
+
+    @Test
+    void testReportsAreCapped() {
+        final FieldViolation notes = validate(new ReportedModel("A-2", StringUtils.repeat("x" + (char) 7, 20),
+                null)).get("notes");
+
+        assertEquals(8, notes.getOffsets().length);
+        assertEquals(15, notes.getOffsets()[7]);
+        assertTrue(notes.isTruncated());
+    }
+
+    @Test
+    void testOtherConstraintsHaveNoReport() {
+        final Set<ConstraintViolation<PurchaseOrder>> violations = validator.getValidator().validate(
+                PurchaseOrder.builder().purchaserName("Tim").build());
+
+        assertEquals(1, violations.size());
+        assertNull(FieldViolation.of(violations.iterator().next()));
+    }
+
+    private Map<String, FieldViolation> validate(final ReportedModel model) {
+        return validator.getValidator().validate(model).stream().map(FieldViolation::of).collect(Collectors.toMap(
+                violation -> violation.getPropertyNode().substring(violation.getPropertyNode().indexOf('.') + 1),
+                Function.identity()));
+    }
+
+    @UnprintableCharacters(identifierFields = "id", identifierFieldsMessage = "Id: %s",
+            failFast = UnprintableCharacters.FailFast.DISABLED)
+    static class ReportedModel {
+
+        final String id;
+        final String notes;
+        final List<String> tags;
+
+        ReportedModel(final String id, final String notes, final List<String> tags) {
+            this.id = id;
+            this.notes = notes;
+            this.tags = tags;
+        }
+    }
+}
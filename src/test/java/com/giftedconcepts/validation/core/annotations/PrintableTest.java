@@ -0,0 +1,71 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import com.giftedconcepts.validation.core.config.AbstractApplicationSystemIT;
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.ValidatorFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PrintableTest extends AbstractApplicationSystemIT {
+
+    private static final String BULLET = String.valueOf((char) 8226);
+
+    @Autowired
+    private ValidatorFactory validator;
+    @Autowired
+    private PrintableTestService printableTestService;
+
+    @Test
+    void testFieldsAndTypeArguments() {
+        assertEquals(0, validator.getValidator().validate(new Model("Name", "Legal " + BULLET,
+                Lists.newArrayList("first", null))).size());
+
+        final Set<ConstraintViolation<Model>> violations = validator.getValidator().validate(new Model(
+                "Name" + (char) 7, "Legal " + (char) 7, Lists.newArrayList("first", "second" + (char) 7)));
+
+        assertThat(violations.stream().map(violation -> violation.getPropertyPath().toString())
+                .collect(Collectors.toList()), containsInAnyOrder("name", "statement", "tags[1].<list element>"));
+    }
+
+    @Test
+    void testPolicies() {
+        /* The bullet is only allowed by the legal policy */
+        assertEquals(1, validator.getValidator().validate(new Model("Name " + BULLET, null, null)).size());
+        assertEquals(0, validator.getValidator().validate(new Model(null, "Legal " + BULLET, null)).size());
+    }
+
+    @Test
+    void testMethodParameters() {
+        assertEquals("Hello Tim", printableTestService.greet("Tim"));
+
+        final ConstraintViolationException exception = assertThrows(ConstraintViolationException.class,
+                () -> printableTestService.greet("Tim" + (char) 7));
+        assertEquals("greet.name: has special characters which failed validation.", exception.getMessage());
+    }
+
+    static class Model {
+
+        @Printable
+        final String name;
+        @Printable(policy = Printable.Policy.LEGAL)
+        final String statement;
+        final List<@Printable String> tags;
+
+        Model(final String name, final String statement, final List<String> tags) {
+            this.name = name;
+            this.statement = statement;
+            this.tags = tags;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+@Service
+@Validated
+public class PrintableTestService {
+
+    public String greet(@Printable final String name) {
+        return "Hello " + name;
+    }
+}
@@ -0,0 +1,145 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import com.giftedconcepts.validation.core.config.AbstractApplicationSystemIT;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Valid;
+import javax.validation.ValidatorFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class UnprintableCharactersDeepTest extends AbstractApplicationSystemIT {
+
+    private static final String DIRTY = "Dirty " + (char) 7;
+
+    @Autowired
+    private ValidatorFactory validator;
+
+    @Test
+    void testDeepValidationMatchesCascading() {
+        final DeepOrder deepOrder = new DeepOrder();
+        final CascadedOrder cascadedOrder = new CascadedOrder();
+        deepOrder.line = cascadedOrder.line = line("line", DIRTY, "clean");
+        deepOrder.lines = cascadedOrder.lines = Lists.newArrayList(line("lines-0", "clean", "clean"),
+                line("lines-1", "clean", DIRTY));
+        deepOrder.lineSet = cascadedOrder.lineSet = ImmutableSet.of(line("set", DIRTY, "clean"));
+        deepOrder.lineArray = cascadedOrder.lineArray = new Line[]{null, line("array-1", DIRTY, DIRTY)};
+        deepOrder.lineMap = cascadedOrder.lineMap = ImmutableMap.of("key", line("map", DIRTY, "clean"));
+
+        final List<String> deep = describe(validator.getValidator().validate(deepOrder));
+        final List<String> cascaded = describe(validator.getValidator().validate(cascadedOrder));
+
+        assertEquals(6, deep.size());
+        assertThat(deep, containsInAnyOrder(cascaded.toArray()));
+        /* The superclass field is validated as well, and the line is identified by its own identifier field */
+        assertThat(deep, hasItem("lines[1].UnprintableCharactersDeepTest$BaseLine.code "
+                + "Field UnprintableCharactersDeepTest$BaseLine.code has special characters which failed validation. "
+                + "The line: lines-1"));
+    }
+
+    @Test
+    void testDeepValidationVisitsEveryObjectOnce() {
+        final Node first = node("first");
+        final Node second = node(DIRTY);
+        first.next = second;
+        second.next = first;
+
+        final List<String> violations = describe(validator.getValidator().validate(first));
+
+        assertThat(violations, containsInAnyOrder("next.UnprintableCharactersDeepTest$Node.value "
+                + "Field UnprintableCharactersDeepTest$Node.value has special characters which failed validation."));
+    }
+
+    @Test
+    void testDeepValidationStopsAtMaxDepth() {
+        /* maxDepth is 32, the root node is at depth 0 */
+        assertEquals(1, validator.getValidator().validate(chain(32)).size());
+        assertEquals(0, validator.getValidator().validate(chain(33)).size());
+    }
+
+    private static Node chain(final int dirtyDepth) {
+        final Node root = node("root");
+        Node last = root;
+        for (int depth = 1; depth <= dirtyDepth; ++depth) {
+            last.next = node(depth == dirtyDepth ? DIRTY : "clean");
+            last = last.next;
+        }
+
+        return root;
+    }
+
+    private static <T> List<String> describe(final Set<ConstraintViolation<T>> violations) {
+        return violations.stream().map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .collect(Collectors.toList());
+    }
+
+    private static Line line(final String id, final String description, final String code) {
+        final Line line = new Line();
+        line.id = id;
+        line.description = description;
+        line.code = code;
+        return line;
+    }
+
+    private static Node node(final String value) {
+        final Node node = new Node();
+        node.value = value;
+        return node;
+    }
+
+    static class BaseLine {
+
+        String code;
+    }
+
+    @UnprintableCharacters(identifierFields = "id", identifierFieldsMessage = "The line: %s")
+    static class Line extends BaseLine {
+
+        String id;
+        String description;
+    }
+
+    @UnprintableCharacters(deep = true)
+    static class DeepOrder {
+
+        Line line;
+        List<Line> lines;
+        Set<Line> lineSet;
+        Line[] lineArray;
+        Map<String, Line> lineMap;
+    }
+
+    @UnprintableCharacters
+    static class CascadedOrder {
+
+        @Valid
+        Line line;
+        @Valid
+        List<Line> lines;
+        @Valid
+        Set<Line> lineSet;
+        @Valid
+        Line[] lineArray;
+        @Valid
+        Map<String, Line> lineMap;
+    }
+
+    @UnprintableCharacters(deep = true)
+    static class Node {
+
+        String value;
+        Node next;
+    }
+}
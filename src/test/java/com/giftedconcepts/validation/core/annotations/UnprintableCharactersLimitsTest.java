@@ -0,0 +1,76 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import com.giftedconcepts.validation.core.config.AbstractApplicationSystemIT;
+import com.google.common.collect.Lists;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ValidatorFactory;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@TestPropertySource(properties = {
+        "com.giftedconcepts.validate.annotation.limits.maxFieldLength=100",
+        "com.giftedconcepts.validate.annotation.limits.maxTotalCharacters=250"})
+public class UnprintableCharactersLimitsTest extends AbstractApplicationSystemIT {
+
+    @Autowired
+    private ValidatorFactory validator;
+
+    @Test
+    void testFieldsOverTheMaximumLength() {
+        assertEquals(0, validate(new LimitedModel(StringUtils.repeat('a', 100), null,
+                Collections.singletonList(StringUtils.repeat('a', 100)))).size());
+
+        /* Reported as too long, the unprintable character in it is never scanned */
+        assertThat(validate(new LimitedModel(StringUtils.repeat('a', 100) + (char) 7, null,
+                        Lists.newArrayList("clean", StringUtils.repeat('a', 101)))),
+                containsInAnyOrder(
+                        "Field UnprintableCharactersLimitsTest$LimitedModel.first exceeds the maximum length of 100 "
+                                + "characters.",
+                        "Field UnprintableCharactersLimitsTest$LimitedModel.lines[1] exceeds the maximum length of "
+                                + "100 characters."));
+    }
+
+    @Test
+    void testScanBudget() {
+        /* 200 characters fit the budget, the next field does not and the validation stops there */
+        assertThat(validate(new LimitedModel(StringUtils.repeat('a', 100), StringUtils.repeat('a', 100),
+                        Lists.newArrayList(StringUtils.repeat('a', 51), "Dirty" + (char) 7))),
+                containsInAnyOrder("Field UnprintableCharactersLimitsTest$LimitedModel.lines exceeds the scan budget "
+                        + "of the validation."));
+
+        /* The budget is per validation */
+        assertEquals(0, validate(new LimitedModel(StringUtils.repeat('a', 100), StringUtils.repeat('a', 100),
+                Collections.singletonList(StringUtils.repeat('a', 50)))).size());
+    }
+
+    private List<String> validate(final LimitedModel model) {
+        final Set<ConstraintViolation<LimitedModel>> violations = validator.getValidator().validate(model);
+
+        return violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.toList());
+    }
+
+    @UnprintableCharacters(failFast = UnprintableCharacters.FailFast.DISABLED)
+    static class LimitedModel {
+
+        final String first;
+        final String second;
+        final List<String> lines;
+
+        LimitedModel(final String first, final String second, final List<String> lines) {
+            this.first = first;
+            this.second = second;
+            this.lines = lines;
+        }
+    }
+}
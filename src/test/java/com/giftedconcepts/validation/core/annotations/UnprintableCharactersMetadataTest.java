@@ -0,0 +1,186 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import com.giftedconcepts.validation.core.annotations.UnprintableCharactersMetadata.StringField;
+import com.giftedconcepts.validation.core.model.Department;
+import com.giftedconcepts.validation.core.model.PurchaseOrder;
+import com.giftedconcepts.validation.core.model.PurchaseOrderLineItem;
+import lombok.Getter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UnprintableCharactersMetadataTest {
+
+    @Test
+    void testGeneratedAccessorIsUsedForModelClasses() {
+        assertTrue(UnprintableCharactersMetadata.forClass(PurchaseOrder.class).isGenerated());
+        assertTrue(UnprintableCharactersMetadata.forClass(Department.class).isGenerated());
+        assertTrue(UnprintableCharactersMetadata.forClass(PurchaseOrderLineItem.class).isGenerated());
+    }
+
+    @Test
+    void testGeneratedAccessorClassifiesFields() {
+        final UnprintableCharactersMetadata metadata = UnprintableCharactersMetadata.forClass(PurchaseOrder.class);
+
+        /* skipMyField is annotated with @UnprintableCharactersSkip */
+        assertThat(propertyNodes(metadata), contains("PurchaseOrder.description", "PurchaseOrder.purchaserName"));
+
+        final PurchaseOrder purchaseOrder = PurchaseOrder.builder().description("A description").build();
+        assertEquals("A description", metadata.getStringFields()[0].read(purchaseOrder));
+    }
+
+    @Test
+    void testGeneratedAccessorResolvesLegalFieldsAndIdentifiers() {
+        final UnprintableCharactersMetadata department = UnprintableCharactersMetadata.forClass(Department.class);
+        assertTrue(department.getStringFields()[0].isLegal());
+        assertFalse(department.getStringFields()[1].isLegal());
+
+        final UnprintableCharactersMetadata lineItem =
+                UnprintableCharactersMetadata.forClass(PurchaseOrderLineItem.class);
+        final FieldReader identifier = lineItem.getReader("identifiableField");
+        assertNotNull(identifier);
+        assertEquals("id", identifier.read(PurchaseOrderLineItem.builder().identifiableField("id").build()));
+        assertNull(lineItem.getReader("unknown"));
+    }
+
+    @Test
+    void testGeneratedAccessorReadsBooleanIdentifiers() {
+        final UnprintableCharactersMetadata metadata = UnprintableCharactersMetadata.forClass(Flags.class);
+
+        /* Lombok names the getters of primitive booleans isActive() and isPrimary(), of Boolean getEnabled() */
+        assertTrue(metadata.isGenerated());
+        final Flags flags = new Flags();
+        assertEquals(true, metadata.getReader("active").read(flags));
+        assertEquals(true, metadata.getReader("isPrimary").read(flags));
+        assertEquals(false, metadata.getReader("enabled").read(flags));
+    }
+
+    @Test
+    void testReflectionFallbackForClassWithoutGetters() {
+        final UnprintableCharactersMetadata metadata = UnprintableCharactersMetadata.forClass(NoGetters.class);
+
+        assertFalse(metadata.isGenerated());
+        assertThat(propertyNodes(metadata), contains("UnprintableCharactersMetadataTest$NoGetters.legal",
+                "UnprintableCharactersMetadataTest$NoGetters.base"));
+        assertTrue(metadata.getStringFields()[0].isLegal());
+        assertEquals("base value", metadata.getStringFields()[1].read(new NoGetters()));
+        assertEquals(7, metadata.getReader("count").read(new NoGetters()));
+    }
+
+    @Test
+    void testContainersAreClassifiedByBothPaths() {
+        final UnprintableCharactersMetadata generated = UnprintableCharactersMetadata.forClass(Containers.class);
+        final UnprintableCharactersMetadata reflected =
+                UnprintableCharactersMetadata.forClass(PrivateContainers.class);
+
+        assertTrue(generated.isGenerated());
+        assertFalse(reflected.isGenerated());
+        final List<StringContainer> expected = Arrays.asList(StringContainer.COLLECTION, StringContainer.ARRAY,
+                StringContainer.MAP_KEYS, StringContainer.MAP_VALUES, StringContainer.MAP_KEYS_AND_VALUES,
+                StringContainer.OPTIONAL);
+        assertEquals(expected, containers(generated));
+        assertEquals(expected, containers(reflected));
+        /* The skipped list and the list of numbers are not scanned */
+        assertEquals(1, generated.getSkippedFieldCount());
+        assertEquals(1, reflected.getSkippedFieldCount());
+    }
+
+    @Test
+    void testSuperclassAndNestedFieldsByReflection() {
+        final UnprintableCharactersMetadata metadata = UnprintableCharactersMetadata.forClass(NoGettersChild.class);
+
+        assertFalse(metadata.isGenerated());
+        /* The superclass fields come first */
+        assertThat(propertyNodes(metadata), contains("UnprintableCharactersMetadataTest$NoGetters.legal",
+                "UnprintableCharactersMetadataTest$NoGetters.base",
+                "UnprintableCharactersMetadataTest$NoGettersChild.own"));
+        assertEquals(1, metadata.getSkippedFieldCount());
+        assertEquals(7, metadata.getReader("count").read(new NoGettersChild()));
+        assertEquals(1, metadata.getNestedFields().length);
+        assertEquals("containers", metadata.getNestedFields()[0].getName());
+        assertEquals(StringContainer.COLLECTION, metadata.getNestedFields()[0].getContainer());
+    }
+
+    private static List<StringContainer> containers(final UnprintableCharactersMetadata metadata) {
+        return Arrays.stream(metadata.getStringFields()).map(StringField::getContainer).collect(Collectors.toList());
+    }
+
+    private static List<String> propertyNodes(final UnprintableCharactersMetadata metadata) {
+        return Arrays.stream(metadata.getStringFields()).map(StringField::getPropertyNode).collect(Collectors.toList());
+    }
+
+    @UnprintableCharacters
+    private static class NoGetters {
+
+        private static final String CONSTANT = "ignored";
+
+        @UnprintableCharactersAllowLegal
+        private String legal = "legal value";
+
+        private String base = "base value";
+
+        @UnprintableCharactersSkip
+        private String skipped = "skipped value";
+
+        private int count = 7;
+    }
+
+    @UnprintableCharacters
+    private static class NoGettersChild extends NoGetters {
+
+        private String own = "own value";
+
+        private List<Containers> containers;
+    }
+
+    @UnprintableCharacters
+    static class Containers {
+
+        Set<String> tags;
+        String[] addressLines;
+        Map<String, Integer> keys;
+        Map<Integer, String> values;
+        Map<String, String> attributes;
+        Optional<String> nickname;
+        @UnprintableCharactersSkip
+        List<String> skipped;
+        List<Integer> numbers;
+    }
+
+    @Getter
+    @UnprintableCharacters(identifierFields = {"active", "isPrimary", "enabled"})
+    static class Flags {
+
+        private boolean active = true;
+        private boolean isPrimary = true;
+        private Boolean enabled = false;
+        private String name = "flags";
+    }
+
+    @UnprintableCharacters
+    private static class PrivateContainers {
+
+        private Set<String> tags;
+        private String[] addressLines;
+        private Map<String, Integer> keys;
+        private Map<Integer, String> values;
+        private Map<String, String> attributes;
+        private Optional<String> nickname;
+        @UnprintableCharactersSkip
+        private List<String> skipped;
+        private List<Integer> numbers;
+    }
+}
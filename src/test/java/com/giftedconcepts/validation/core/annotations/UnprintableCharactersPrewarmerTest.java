@@ -0,0 +1,24 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import com.giftedconcepts.validation.core.config.AbstractApplicationSystemIT;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@TestPropertySource(properties = {
+        "com.giftedconcepts.validate.annotation.prewarm.enabled=true",
+        "com.giftedconcepts.validate.annotation.prewarm.basePackages=com.giftedconcepts.validation.core.model",
+        "com.giftedconcepts.validate.annotation.prewarm.warmUpIterations=10"})
+public class UnprintableCharactersPrewarmerTest extends AbstractApplicationSystemIT {
+
+    @Autowired
+    private UnprintableCharactersPrewarmer prewarmer;
+
+    @Test
+    void testPrewarmPreparesTheAnnotatedTypesOfTheBasePackages() {
+        /* Department, PurchaseOrder and PurchaseOrderLineItem */
+        assertEquals(3, prewarmer.prewarm());
+    }
+}
@@ -0,0 +1,32 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import com.giftedconcepts.validation.core.config.AbstractApplicationSystemIT;
+import com.giftedconcepts.validation.core.model.PurchaseOrder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The sanitizer with an unprintable regex which is not a lookup table. The inlined properties are read as a properties
+ * file, so the backslashes of the regex are escaped twice.
+ */
+@TestPropertySource(properties = "com.giftedconcepts.validate.annotation.unprintableRegex=\\\\r\\\\n|\\\\p{Cc}")
+public class UnprintableCharactersRegexSanitizerTest extends AbstractApplicationSystemIT {
+
+    @Autowired
+    private UnprintableCharactersSanitizer sanitizer;
+
+    @Test
+    void testEachMatchIsReplacedOnce() {
+        final PurchaseOrder purchaseOrder = buildPurchaseOrder("Tim Richard", "Line one\r\nLine two" + (char) 7
+                + "\r" + (char) 1, null, null);
+
+        final SanitizationResult result = sanitizer.sanitize(purchaseOrder, "?");
+
+        /* The CR LF pair is one match, the lone CR and the control characters are one each */
+        assertEquals("Line one?Line two???", purchaseOrder.getDescription());
+        assertEquals(5, result.getChangedFields().get(0).getReplacedCharacters());
+    }
+}
@@ -0,0 +1,109 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import com.giftedconcepts.validation.core.config.AbstractApplicationSystemIT;
+import com.giftedconcepts.validation.core.config.ValidationSnapshots;
+import com.giftedconcepts.validation.core.model.PurchaseOrder;
+import com.giftedconcepts.validation.core.model.PurchaseOrderLineItem;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UnprintableCharactersRevalidatorTest extends AbstractApplicationSystemIT {
+
+    @Autowired
+    private UnprintableCharactersRevalidator revalidator;
+    @Autowired
+    private ValidationSnapshots validationSnapshots;
+
+    @BeforeEach
+    void setUp() {
+        random = new Random();
+    }
+
+    @Test
+    void testOnlyChangedFieldsAreScanned() {
+        final List<PurchaseOrderLineItem> lineItems = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            lineItems.add(buildPurchaseOrderLineItem(i + 1, getUnitPrice(), RandomStringUtils.randomAlphanumeric(20),
+                    "Line item " + UUID.randomUUID()));
+        }
+        final PurchaseOrder purchaseOrder = buildPurchaseOrder("Tim Richard", "A description",
+                buildDepartment("IT", "• Legal"), lineItems);
+
+        final RevalidationResult<PurchaseOrder> first = revalidator.validate(purchaseOrder);
+        assertTrue(first.isValid());
+        /* 2 fields of the order, 2 of the department and 2 of each line item */
+        assertEquals(10, first.getRescannedFields());
+        final int fields = first.getRescannedFields() + first.getReusedFields();
+
+        purchaseOrder.setDescription("Another description");
+        final RevalidationResult<PurchaseOrder> second = revalidator.validate(purchaseOrder);
+        assertTrue(second.isValid());
+        assertEquals(1, second.getRescannedFields());
+        assertEquals(fields - 1, second.getReusedFields());
+
+        /* A failed field is scanned again, to report it */
+        purchaseOrder.getPurchaseOrderLineItems().get(1).setItemDescription("Dirty" + (char) 7);
+        for (int i = 0; i < 2; ++i) {
+            final RevalidationResult<PurchaseOrder> dirty = revalidator.validate(purchaseOrder);
+            assertEquals(1, dirty.getViolations().size());
+            assertTrue(dirty.getRescannedFields() > 0);
+        }
+    }
+
+    @Test
+    void testObjectsAreRecognizedByTheirIdentifiers() {
+        assertTrue(revalidator.validate(new Account("A-1", "Tim Richard", "Notes")).isValid());
+
+        /* Another instance of the same resource, with equal values */
+        final RevalidationResult<Account> same = revalidator.validate(new Account("A-1", "Tim Richard", "Notes"));
+        assertEquals(3, same.getReusedFields());
+        assertEquals(0, same.getRescannedFields());
+
+        final RevalidationResult<Account> changed = revalidator.validate(new Account("A-1", "Tim Richard",
+                "Notes" + (char) 7));
+        assertFalse(changed.isValid());
+        assertEquals(2, changed.getReusedFields());
+
+        final RevalidationResult<Account> other = revalidator.validate(new Account("A-2", "Tim Richard", "Notes"));
+        assertEquals(0, other.getReusedFields());
+    }
+
+    @Test
+    void testConfigurationChangesInvalidateTheFingerprints() {
+        final Account account = new Account("B-1", "Tim Richard", "Notes");
+        revalidator.validate(account);
+        assertEquals(3, revalidator.validate(account).getReusedFields());
+
+        validationSnapshots.reload();
+        assertEquals(0, revalidator.validate(account).getReusedFields());
+        assertEquals(3, revalidator.validate(account).getReusedFields());
+
+        revalidator.invalidateAll();
+        assertEquals(0, revalidator.validate(account).getReusedFields());
+    }
+
+    @UnprintableCharacters(identifierFields = "id")
+    static class Account {
+
+        final String id;
+        final String name;
+        final String notes;
+
+        Account(final String id, final String name, final String notes) {
+            this.id = id;
+            this.name = name;
+            this.notes = notes;
+        }
+    }
+}
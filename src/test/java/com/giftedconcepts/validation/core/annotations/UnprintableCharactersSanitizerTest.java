@@ -0,0 +1,109 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import com.giftedconcepts.validation.core.config.AbstractApplicationSystemIT;
+import com.giftedconcepts.validation.core.model.Department;
+import com.giftedconcepts.validation.core.model.PurchaseOrder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UnprintableCharactersSanitizerTest extends AbstractApplicationSystemIT {
+
+    @Autowired
+    private UnprintableCharactersSanitizer sanitizer;
+
+    @BeforeEach
+    public void initialize() {
+
+        random = new Random();
+    }
+
+    @Test
+    void testOffendingCharactersAreRemoved() {
+        final String purchaserName = "Timmy Richard";
+        final PurchaseOrder purchaseOrder = buildPurchaseOrder(purchaserName, "A bad" + (char) 7 + " description"
+                + (char) 1, null, null);
+        final String skipped = "Skipped " + (char) 7;
+        purchaseOrder.setSkipMyField(skipped);
+
+        final SanitizationResult result = sanitizer.sanitize(purchaseOrder);
+
+        assertTrue(result.isChanged());
+        assertThat(result.getChangedFields().stream().map(SanitizedField::getPropertyNode).collect(Collectors.toList()),
+                contains("PurchaseOrder.description"));
+        assertEquals(2, result.getChangedFields().get(0).getReplacedCharacters());
+        assertEquals("A bad description", purchaseOrder.getDescription());
+        /* Nothing to fix, not copied */
+        assertSame(purchaserName, purchaseOrder.getPurchaserName());
+        assertSame(skipped, purchaseOrder.getSkipMyField());
+    }
+
+    @Test
+    void testLegalFieldsKeepTheAllowedCharacters() {
+        final Department department = buildDepartment("Name" + (char) 155,
+                "A bullet " + (char) 149 + " and " + (char) 384 + ".");
+
+        final SanitizationResult result = sanitizer.sanitize(department, "?");
+
+        assertThat(result.getChangedFields().stream().map(SanitizedField::getName).collect(Collectors.toList()),
+                contains("departmentLegalStatement", "name"));
+        assertEquals("A bullet " + (char) 149 + " and ?.", department.getDepartmentLegalStatement());
+        assertEquals("Name?", department.getName());
+    }
+
+    @Test
+    void testReplacementRejectedByAPolicy() {
+        final String name = "Name" + (char) 155;
+        final Department department = buildDepartment(name, "A bullet " + (char) 149 + ".");
+
+        /* The bullet is a legal character, not a base one, and nothing is written */
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> sanitizer.sanitize(department, String.valueOf((char) 149)));
+        assertTrue(e.getMessage().contains("U+0095"));
+        assertSame(name, department.getName());
+
+        assertThrows(IllegalArgumentException.class, () -> sanitizer.sanitize(department, "\u0000"));
+    }
+
+    @Test
+    void testCleanObjectIsUnchanged() {
+        final String name = "Information Technology";
+        final String legalStatement = "This is my legal statement.";
+        final Department department = buildDepartment(name, legalStatement);
+
+        assertFalse(sanitizer.sanitize(department).isChanged());
+        assertSame(name, department.getName());
+        assertSame(legalStatement, department.getDepartmentLegalStatement());
+    }
+
+    @Test
+    void testFieldsWithoutSettersAreWrittenByReflection() {
+        final NoSetters noSetters = new NoSetters("A surrogate pair " + new String(Character.toChars(0x1F600)));
+
+        final SanitizationResult result = sanitizer.sanitize(noSetters);
+
+        assertEquals(1, result.getChangedFields().size());
+        assertEquals("A surrogate pair ", noSetters.value);
+    }
+
+    @UnprintableCharacters
+    private static class NoSetters {
+
+        private final String value;
+
+        private NoSetters(final String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.giftedconcepts.validation.core.annotations;
+
+import com.giftedconcepts.validation.core.config.AbstractApplicationSystemIT;
+import com.giftedconcepts.validation.core.model.PurchaseOrder;
+import com.giftedconcepts.validation.core.model.PurchaseOrderLineItem;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Validates random purchase orders from many threads through the shared {@link ValidatorFactory}, and checks that
+ * every validation gives the verdict and the messages of a single threaded validation of the same order. Run by
+ * {@code mvn verify}; the load is set with -Dstress.threads, -Dstress.warmUp and -Dstress.duration (ISO-8601, e.g.
+ * -Dstress.duration=PT30M for a soak run).
+ * <p>
+ * The throughput, the latency percentiles, the bytes allocated per validation and the GC pauses of the measured phase
+ * are logged, and the test fails when one of them is past its threshold in stress-thresholds.properties.
+ */
+@Slf4j
+public class UnprintableCharactersStressIT extends AbstractApplicationSystemIT {
+
+    private static final int ORDERS = 512;
+    /* Latencies are counted by microsecond up to 1 s, longer ones in the last bucket */
+    private static final int LATENCY_BUCKETS = 1_000_001;
+
+    @Autowired
+    private ValidatorFactory validatorFactory;
+
+    private final List<PurchaseOrder> orders = new ArrayList<>();
+    private final List<Set<String>> expected = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        random = new Random(20221107L);
+        final Validator validator = validatorFactory.getValidator();
+        for (int i = 0; i < ORDERS; ++i) {
+            final List<PurchaseOrderLineItem> lineItems = buildPurchaseOrderLineItems(true, random.nextInt(20), null,
+                    null);
+            /* One order in 4 has an unprintable character, in the order or in a line item */
+            if (i % 4 == 1) {
+                lineItems.add(buildPurchaseOrderLineItem(1, getUnitPrice(), "Dirty " + (char) 7, "Line " + i));
+            }
+            final PurchaseOrder order = buildPurchaseOrder("Purchaser " + i,
+                    i % 4 == 3 ? "Bell " + (char) 7 : "Order " + i, buildDepartment("IT", "• Legal § " + i),
+                    lineItems);
+            orders.add(order);
+            expected.add(messages(validator.validate(order)));
+        }
+    }
+
+    @Test
+    void testConcurrentValidations() throws Exception {
+        final Properties thresholds = thresholds();
+        final int threads = Integer.getInteger("stress.threads",
+                Math.max(4, 2 * Runtime.getRuntime().availableProcessors()));
+        final Duration warmUp = Duration.parse(System.getProperty("stress.warmUp", "PT2S"));
+        final Duration duration = Duration.parse(System.getProperty("stress.duration", "PT5S"));
+
+        run(threads, warmUp, new Worker[threads]);
+
+        final Worker[] workers = new Worker[threads];
+        final GcPauses gcPauses = new GcPauses();
+        final long gcTimeBefore = gcTimeMillis();
+        final long startNanos = System.nanoTime();
+        try {
+            run(threads, duration, workers);
+        } finally {
+            gcPauses.close();
+        }
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        final long gcTimeMillis = gcTimeMillis() - gcTimeBefore;
+
+        long validations = 0L;
+        long mismatches = 0L;
+        long allocatedBytes = 0L;
+        final long[] latencies = new long[LATENCY_BUCKETS];
+        for (final Worker worker : workers) {
+            validations += worker.validations;
+            mismatches += worker.mismatches;
+            allocatedBytes += worker.allocatedBytes;
+            for (int i = 0; i < LATENCY_BUCKETS; ++i) {
+                latencies[i] += worker.latencies[i];
+            }
+        }
+        final double throughput = validations * 1e9 / elapsedNanos;
+        final long p50 = percentile(latencies, validations, 0.50);
+        final long p99 = percentile(latencies, validations, 0.99);
+        final long p999 = percentile(latencies, validations, 0.999);
+        final long bytesPerValidation = allocatedBytes < 0 ? -1L : allocatedBytes / Math.max(1L, validations);
+        final double gcTimePercent = 100.0 * TimeUnit.MILLISECONDS.toNanos(gcTimeMillis) / elapsedNanos;
+
+        log.info("{} validations on {} threads in {} ms: {} per second, latency p50 {} us, p99 {} us, p99.9 {} us, "
+                        + "{} bytes allocated per validation, GC {} ms ({}%), longest GC pause {} ms, {} mismatches.",
+                validations, threads, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.round(throughput), p50,
+                p99, p999, bytesPerValidation, gcTimeMillis, String.format("%.1f", gcTimePercent),
+                gcPauses.longestMillis.get(), mismatches);
+
+        assertEquals(0L, mismatches, "Validations which differ from the single threaded ones");
+        assertAll(
+                () -> assertTrue(throughput >= threshold(thresholds, "stress.minThroughputPerSecond"),
+                        "Throughput " + Math.round(throughput) + " per second"),
+                () -> assertTrue(p50 <= threshold(thresholds, "stress.maxP50Micros"), "p50 " + p50 + " us"),
+                () -> assertTrue(p99 <= threshold(thresholds, "stress.maxP99Micros"), "p99 " + p99 + " us"),
+                () -> assertTrue(p999 <= threshold(thresholds, "stress.maxP999Micros"), "p99.9 " + p999 + " us"),
+                () -> assertTrue(bytesPerValidation <= threshold(thresholds, "stress.maxAllocatedBytesPerValidation"),
+                        bytesPerValidation + " bytes allocated per validation"),
+                () -> assertTrue(gcTimePercent <= threshold(thresholds, "stress.maxGcTimePercent"),
+                        "GC time " + gcTimePercent + "%"),
+                () -> assertTrue(gcPauses.longestMillis.get() <= threshold(thresholds, "stress.maxGcPauseMillis"),
+                        "Longest GC pause " + gcPauses.longestMillis.get() + " ms"));
+    }
+
+    private void run(final int threads, final Duration duration, final Worker[] workers) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final long deadlineNanos = System.nanoTime() + duration.toNanos();
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; ++thread) {
+                workers[thread] = new Worker(thread, deadlineNanos);
+                futures.add(executor.submit(workers[thread]));
+            }
+            for (final Future<?> future : futures) {
+                future.get(duration.toMillis() + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Set<String> messages(final Set<? extends ConstraintViolation<?>> violations) {
+        final Set<String> messages = new TreeSet<>();
+        for (final ConstraintViolation<?> violation : violations) {
+            messages.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+
+        return messages;
+    }
+
+    /**
+     * @return the latency in microseconds under which the fraction of the validations are.
+     */
+    private static long percentile(final long[] latencies, final long count, final double fraction) {
+        final long rank = (long) Math.ceil(count * fraction);
+        long seen = 0L;
+        for (int i = 0; i < latencies.length; ++i) {
+            seen += latencies[i];
+            if (seen >= rank) {
+                return i;
+            }
+        }
+
+        return latencies.length - 1;
+    }
+
+    private static long gcTimeMillis() {
+        long millis = 0L;
+        for (final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0L, collector.getCollectionTime());
+        }
+
+        return millis;
+    }
+
+    private static Properties thresholds() throws IOException {
+        final Properties thresholds = new Properties();
+        try (InputStream inputStream = UnprintableCharactersStressIT.class.getResourceAsStream(
+                "/stress-thresholds.properties")) {
+            thresholds.load(inputStream);
+        }
+
+        return thresholds;
+    }
+
+    private static double threshold(final Properties thresholds, final String name) {
+        return Double.parseDouble(System.getProperty(name, thresholds.getProperty(name)));
+    }
+
+    /**
+     * Validates the orders in turn from its own offset until the deadline. Its counts are only read once it is done.
+     */
+    private final class Worker implements Runnable {
+
+        private final int offset;
+        private final long deadlineNanos;
+        private final long[] latencies = new long[LATENCY_BUCKETS];
+        private long validations;
+        private long mismatches;
+        /* -1 when the JVM does not count the allocations per thread */
+        private long allocatedBytes;
+
+        private Worker(final int thread, final long deadlineNanos) {
+            this.offset = thread * 31;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public void run() {
+            final Validator validator = validatorFactory.getValidator();
+            final long allocatedBefore = allocatedBytes();
+            long nanos = System.nanoTime();
+            for (int i = offset; nanos - deadlineNanos < 0; ++i) {
+                final int index = i % ORDERS;
+                final Set<ConstraintViolation<PurchaseOrder>> violations = validator.validate(orders.get(index));
+                final long end = System.nanoTime();
+                ++latencies[(int) Math.min(LATENCY_BUCKETS - 1, TimeUnit.NANOSECONDS.toMicros(end - nanos))];
+                ++validations;
+                nanos = end;
+                /* Every count is compared, the messages of one validation in 64 */
+                if (violations.size() != expected.get(index).size()
+                        || (i & 63) == 0 && !messages(violations).equals(expected.get(index))) {
+                    ++mismatches;
+                }
+            }
+            final long allocatedAfter = allocatedBytes();
+            allocatedBytes = allocatedBefore < 0 || allocatedAfter < 0 ? -1L : allocatedAfter - allocatedBefore;
+        }
+
+        private long allocatedBytes() {
+            if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+                return -1L;
+            }
+            final com.sun.management.ThreadMXBean threads =
+                    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+            return threads.isThreadAllocatedMemoryEnabled()
+                    ? threads.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1L;
+        }
+    }
+
+    /**
+     * Records the longest GC pause reported by the collectors while it is open.
+     */
+    private static final class GcPauses implements AutoCloseable {
+
+        private final AtomicLong longestMillis = new AtomicLong();
+        private final List<NotificationEmitter> emitters = new ArrayList<>();
+        private final NotificationListener listener = (notification, handback) -> {
+            if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                final GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from(
+                        (CompositeData) notification.getUserData());
+                longestMillis.accumulateAndGet(info.getGcInfo().getDuration(), Math::max);
+            }
+        };
+
+        private GcPauses() {
+            for (final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (collector instanceof NotificationEmitter) {
+                    final NotificationEmitter emitter = (NotificationEmitter) collector;
+                    emitter.addNotificationListener(listener, null, null);
+                    emitters.add(emitter);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            for (final NotificationEmitter emitter : emitters) {
+                try {
+                    emitter.removeNotificationListener(listener);
+                } catch (final ListenerNotFoundException e) {
+                    /* Already removed */
+                }
+            }
+        }
+    }
+}
@@ -3,7 +3,10 @@ package com.giftedconcepts.validation.core.annotations;
 import com.giftedconcepts.validation.core.config.AbstractApplicationSystemIT;
 import com.giftedconcepts.validation.core.model.PurchaseOrder;
 import com.giftedconcepts.validation.core.model.PurchaseOrderLineItem;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.apache.commons.lang3.StringUtils;
 import org.hamcrest.Matchers;
 import org.hibernate.validator.internal.engine.ConstraintViolationImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,11 +15,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ValidatorFactory;
+import java.util.Collection;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
@@ -183,4 +192,140 @@ public class UnprintableCharactersTest extends AbstractApplicationSystemIT {
                                 "validation. The identifying field value: This is my identity ê."))))
         );
     }
+
+    @Test
+    void testValidationConstraint_allow_legal_single_violation_per_field() {
+        /* Every character of the statement fails, a single violation is reported for the field */
+        assertEquals(1,
+                validator.getValidator()
+                        .validate(buildDepartment("DepartmentName",
+                                StringUtils.repeat((char) 384, 1000))).size());
+    }
+
+    @Test
+    void testValidationConstraint_fail_fast() {
+        /* Both fields fail, only the first one is reported */
+        Set<ConstraintViolation<FailFastModel>> violations = validator.getValidator()
+                .validate(new FailFastModel("First " + (char) 7, "Second " + (char) 7));
+        assertAll("assert the first violation only",
+                () -> assertThat(violations.size(), equalTo(1)),
+                () -> assertThat(violations, hasItem(Matchers.<ConstraintViolationImpl<FailFastModel>>hasProperty("message",
+                        is("Field UnprintableCharactersTest$FailFastModel.first has special characters which failed " +
+                                "validation."))))
+        );
+
+        assertEquals(2,
+                validator.getValidator()
+                        .validate(new NoFailFastModel("First " + (char) 7, "Second " + (char) 7)).size());
+    }
+
+    @Test
+    void testValidationConstraint_containers_of_strings() {
+
+        final ContainerModel clean = new ContainerModel(Lists.newArrayList("first", "second"),
+                new LinkedList<>(Lists.newArrayList("first")), new String[]{"line 1", null},
+                ImmutableMap.of("key", "value"), ImmutableMap.of(1, "value"), Optional.of("nickname"),
+                Sets.newLinkedHashSet(Lists.newArrayList("label")));
+        assertEquals(0, validator.getValidator().validate(clean).size());
+
+        final ContainerModel dirty = new ContainerModel(Lists.newArrayList("first", "second" + (char) 7),
+                new LinkedList<>(Lists.newArrayList("first", "second", "third" + (char) 7)),
+                new String[]{"line 1" + (char) 7, null},
+                ImmutableMap.of("key" + (char) 7, "value", "key", "value" + (char) 7),
+                ImmutableMap.of(0, "value", 1, "value" + (char) 7), Optional.of("nickname" + (char) 7),
+                Sets.newLinkedHashSet(Lists.newArrayList("label", "second label" + (char) 7)));
+        final Set<ConstraintViolation<ContainerModel>> violations = validator.getValidator().validate(dirty);
+
+        assertThat(violations.stream().map(ConstraintViolation::getMessage).map(message ->
+                        StringUtils.substringBetween(message, "Field ", " has special characters"))
+                        .collect(Collectors.toList()),
+                containsInAnyOrder("UnprintableCharactersTest$ContainerModel.tags[1]",
+                        "UnprintableCharactersTest$ContainerModel.linkedTags[2]",
+                        "UnprintableCharactersTest$ContainerModel.addressLines[0]",
+                        "UnprintableCharactersTest$ContainerModel.attributes<K>[key\u0007]",
+                        "UnprintableCharactersTest$ContainerModel.attributes[key]",
+                        "UnprintableCharactersTest$ContainerModel.values[1]",
+                        "UnprintableCharactersTest$ContainerModel.nickname",
+                        "UnprintableCharactersTest$ContainerModel.labels[]"));
+    }
+
+    @Test
+    void testValidationConstraint_named_policies() {
+        /* The accented letter is allowed by productName only, the tab by notes only */
+        assertEquals(0, validator.getValidator().validate(new PolicyModel("Cr" + (char) 232 + "me br" + (char) 251
+                + "l" + (char) 233 + "e", "Line 1\tLine 2\r\n", "Plain")).size());
+
+        final Set<ConstraintViolation<PolicyModel>> violations = validator.getValidator().validate(new PolicyModel(
+                "Cr" + (char) 232 + "me" + (char) 7, "Line 1" + (char) 7, "Plain\t"));
+        assertThat(violations.stream().map(ConstraintViolation::getMessage).map(message ->
+                        StringUtils.substringBetween(message, "Field ", " has special characters"))
+                        .collect(Collectors.toList()),
+                containsInAnyOrder("UnprintableCharactersTest$PolicyModel.productName",
+                        "UnprintableCharactersTest$PolicyModel.notes",
+                        "UnprintableCharactersTest$PolicyModel.plain"));
+    }
+
+    @UnprintableCharacters
+    static class ContainerModel {
+
+        final List<String> tags;
+        final Collection<String> linkedTags;
+        final String[] addressLines;
+        final Map<String, String> attributes;
+        final Map<Integer, String> values;
+        final Optional<String> nickname;
+        final Set<String> labels;
+
+        ContainerModel(final List<String> tags, final Collection<String> linkedTags, final String[] addressLines,
+                       final Map<String, String> attributes, final Map<Integer, String> values,
+                       final Optional<String> nickname, final Set<String> labels) {
+            this.tags = tags;
+            this.linkedTags = linkedTags;
+            this.addressLines = addressLines;
+            this.attributes = attributes;
+            this.values = values;
+            this.nickname = nickname;
+            this.labels = labels;
+        }
+    }
+
+    @UnprintableCharacters
+    static class PolicyModel {
+
+        @UnprintableCharactersPolicy("productName")
+        final String productName;
+        @UnprintableCharactersPolicy("notes")
+        final String notes;
+        final String plain;
+
+        PolicyModel(final String productName, final String notes, final String plain) {
+            this.productName = productName;
+            this.notes = notes;
+            this.plain = plain;
+        }
+    }
+
+    @UnprintableCharacters(failFast = UnprintableCharacters.FailFast.ENABLED)
+    static class FailFastModel {
+
+        final String first;
+        final String second;
+
+        FailFastModel(final String first, final String second) {
+            this.first = first;
+            this.second = second;
+        }
+    }
+
+    @UnprintableCharacters(failFast = UnprintableCharacters.FailFast.DISABLED)
+    static class NoFailFastModel {
+
+        final String first;
+        final String second;
+
+        NoFailFastModel(final String first, final String second) {
+            this.first = first;
+            this.second = second;
+        }
+    }
 }
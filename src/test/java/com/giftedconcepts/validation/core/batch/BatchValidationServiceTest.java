@@ -0,0 +1,90 @@
+package com.giftedconcepts.validation.core.batch;
+
+import com.giftedconcepts.validation.core.config.AbstractApplicationSystemIT;
+import com.giftedconcepts.validation.core.model.PurchaseOrderLineItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchValidationServiceTest extends AbstractApplicationSystemIT {
+
+    @Autowired
+    private BatchValidationService batchValidationService;
+
+    @BeforeEach
+    public void initialize() {
+
+        random = new Random();
+    }
+
+    @Test
+    void testResultsAreInInputOrderAndKeyedByIdentifierFields() {
+
+        /* Every 100th line item is invalid, spread over several chunks */
+        final List<PurchaseOrderLineItem> lineItems = buildLineItems(2000, 100);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final BatchValidationResult<PurchaseOrderLineItem> result =
+                    batchValidationService.validate(lineItems, BatchValidationService.UNLIMITED_VIOLATIONS, executor);
+
+            assertFalse(result.isValid());
+            assertFalse(result.isTruncated());
+            assertEquals(2000, result.getObjectCount());
+            assertEquals(2000, result.getValidatedCount());
+            assertEquals(20, result.getViolationCount());
+            assertThat(result.getResults().stream().map(ObjectValidationResult::getIndex).collect(Collectors.toList()),
+                    contains(IntStream.range(0, 20).map(i -> i * 100).boxed().toArray()));
+            assertThat(result.getViolationsByKey().keySet(),
+                    contains(IntStream.range(0, 20).mapToObj(i -> "item-" + i * 100).toArray()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testStreamOfValidObjects() {
+
+        final BatchValidationResult<PurchaseOrderLineItem> result =
+                batchValidationService.validate(buildLineItems(1000, 0).stream(), 10);
+
+        assertTrue(result.isValid());
+        assertEquals(1000, result.getValidatedCount());
+        assertTrue(result.getResults().isEmpty());
+    }
+
+    @Test
+    void testViolationsAreCappedInInputOrder() {
+
+        final BatchValidationResult<PurchaseOrderLineItem> result =
+                batchValidationService.validate(buildLineItems(2000, 10), 5);
+
+        assertTrue(result.isTruncated());
+        assertEquals(5, result.getViolationCount());
+        assertThat(result.getResults().stream().map(ObjectValidationResult::getKey).collect(Collectors.toList()),
+                contains("item-0", "item-10", "item-20", "item-30", "item-40"));
+    }
+
+    /**
+     * @param invalidEvery every invalidEvery-th line item has an unprintable description, none when 0
+     */
+    private List<PurchaseOrderLineItem> buildLineItems(final int count, final int invalidEvery) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> buildPurchaseOrderLineItem(1, getUnitPrice(),
+                        invalidEvery > 0 && i % invalidEvery == 0 ? "Bell " + (char) 7 : "Description " + i,
+                        "item-" + i))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,88 @@
+package com.giftedconcepts.validation.core.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.giftedconcepts.validation.core.config.AbstractApplicationSystemIT;
+import com.giftedconcepts.validation.core.model.PurchaseOrderLineItem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BulkFileValidatorTest extends AbstractApplicationSystemIT {
+
+    private static final int LINES = 1000;
+
+    @Autowired
+    private BulkFileValidator bulkFileValidator;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testViolationsAreReportedInOrderWithLineNumbers() throws IOException {
+        final Path input = directory.resolve("line-items.jsonl");
+        final Path output = directory.resolve("violations.jsonl");
+        final StringBuilder content = new StringBuilder();
+        for (int line = 1; line <= LINES; ++line) {
+            final String description = line % 97 == 0 ? "Dirty \\u0007 " + line : "Clean description " + line;
+            content.append("{\"identifiableField\":\"item-").append(line).append("\",\"itemDescription\":\"")
+                    .append(description).append("\",\"quantity\":").append(line).append("}");
+            /* Windows line breaks, an empty line and a malformed line */
+            content.append(line == 500 ? "\r\n\n{\"quantity\":\r\n" : "\n");
+        }
+        Files.write(input, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        /* Chunks of about 4 KB, most of them end in the middle of a line */
+        final BulkValidationSummary summary = bulkFileValidator.validate(input, output, PurchaseOrderLineItem.class,
+                4096, 4);
+
+        assertEquals(LINES + 2, summary.getLines());
+        assertEquals(LINES / 97 + 1, summary.getInvalidLines());
+        assertFalse(summary.isValid());
+
+        final List<JsonNode> records = new ArrayList<>();
+        for (final String line : Files.readAllLines(output, StandardCharsets.UTF_8)) {
+            records.add(objectMapper.readTree(line));
+        }
+        assertEquals(LINES / 97 + 1, records.size());
+
+        final JsonNode first = records.get(0);
+        assertEquals(97, first.get("line").asLong());
+        assertEquals("item-97", first.get("identifiers").get("identifiableField").asText());
+        assertEquals("PurchaseOrderLineItem.itemDescription", first.get("violations").get(0).get("path").asText());
+
+        /* The empty and the malformed lines follow line 500, the line numbers after them are shifted by 2 */
+        assertEquals(502, records.get(5).get("line").asLong());
+        assertTrue(records.get(5).get("violations").get(0).get("message").asText().startsWith("Malformed JSON"));
+        assertEquals(97 * 6 + 2, records.get(6).get("line").asLong());
+        assertEquals("item-" + 97 * 6, records.get(6).get("identifiers").get("identifiableField").asText());
+        for (int i = 1; i < records.size(); ++i) {
+            assertTrue(records.get(i - 1).get("line").asLong() < records.get(i).get("line").asLong());
+        }
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+        final Path input = Files.createFile(directory.resolve("empty.jsonl"));
+        final Path output = directory.resolve("violations.jsonl");
+
+        final BulkValidationSummary summary = bulkFileValidator.validate(input, output, PurchaseOrderLineItem.class);
+
+        assertEquals(0, summary.getLines());
+        assertTrue(summary.isValid());
+        assertEquals(0, Files.size(output));
+    }
+}
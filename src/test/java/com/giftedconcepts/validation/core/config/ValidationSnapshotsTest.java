@@ -0,0 +1,145 @@
+package com.giftedconcepts.validation.core.config;
+
+import com.giftedconcepts.validation.core.annotations.UnprintableCharacters;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharactersPolicy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.validation.ValidatorFactory;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ValidationSnapshotsTest extends AbstractApplicationSystemIT {
+
+    private static final Path RELOAD_FILE = createReloadFile();
+
+    @Autowired
+    private ValidationSnapshots validationSnapshots;
+    @Autowired
+    private ValidationConfigEndpoint validationConfigEndpoint;
+    @Autowired
+    private ValidatorFactory validator;
+
+    @DynamicPropertySource
+    static void reloadProperties(final DynamicPropertyRegistry registry) {
+        registry.add(ApplicationProperties.PREFIX + ".reload.location", () -> RELOAD_FILE.toUri().toString());
+        registry.add(ApplicationProperties.PREFIX + ".reload.checkInterval", () -> "0");
+    }
+
+    @AfterAll
+    static void deleteReloadFile() throws IOException {
+        Files.deleteIfExists(RELOAD_FILE);
+    }
+
+    @Test
+    void testReloadSwapsTheSnapshot() throws IOException {
+        writeReloadFile("0041-005A");
+        validationSnapshots.reload();
+        assertTrue(isValid("UPPER"));
+        assertFalse(isValid("lower"));
+
+        final long version = validationSnapshots.get().getVersion();
+        writeReloadFile("0061-007A");
+        final Object reloadedVersion = validationConfigEndpoint.reload().get("version");
+
+        assertEquals(version + 1, reloadedVersion);
+        assertFalse(isValid("UPPER"));
+        assertTrue(isValid("lower"));
+    }
+
+    @Test
+    void testInvalidConfigurationKeepsTheSnapshot() throws IOException {
+        writeReloadFile("0041-005A");
+        final ValidationSnapshot snapshot = validationSnapshots.reload();
+
+        Files.write(RELOAD_FILE, (ApplicationProperties.PREFIX + ".policies.reloaded.categories: Xx\n")
+                .getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> validationSnapshots.reload());
+
+        assertSame(snapshot, validationSnapshots.get());
+        assertTrue(isValid("UPPER"));
+    }
+
+    @Test
+    void testValidationsDuringReloads() throws Exception {
+        writeReloadFile("0041-005A");
+        validationSnapshots.reload();
+
+        final AtomicBoolean reloading = new AtomicBoolean(true);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Integer>> validations = new ArrayList<>();
+            for (int thread = 0; thread < 3; ++thread) {
+                validations.add(executor.submit(() -> {
+                    int count = 0;
+                    while (reloading.get()) {
+                        /* Valid under every version of the file */
+                        assertTrue(isValid("UPPER"));
+                        assertFalse(isValid("lower" + (char) 7));
+                        ++count;
+                    }
+                    return count;
+                }));
+            }
+            for (int i = 0; i < 50; ++i) {
+                validationSnapshots.reload();
+            }
+            reloading.set(false);
+            for (final Future<Integer> validation : validations) {
+                assertTrue(validation.get(30, TimeUnit.SECONDS) > 0);
+            }
+        } finally {
+            reloading.set(false);
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean isValid(final String value) {
+        return validator.getValidator().validate(new ReloadedModel(value)).isEmpty();
+    }
+
+    private static void writeReloadFile(final String range) throws IOException {
+        Files.write(RELOAD_FILE, (ApplicationProperties.PREFIX + ".policies.reloaded.ranges: \"" + range + "\"\n")
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Path createReloadFile() {
+        try {
+            final Path file = Files.createTempFile("validation-reload", ".yml");
+            Files.write(file, (ApplicationProperties.PREFIX + ".policies.reloaded.ranges: \"0041-005A\"\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            return file;
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @UnprintableCharacters
+    static class ReloadedModel {
+
+        @UnprintableCharactersPolicy("reloaded")
+        final String value;
+
+        ReloadedModel(final String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.giftedconcepts.validation.core.metrics;
+
+import com.giftedconcepts.validation.core.config.AbstractApplicationSystemIT;
+import com.giftedconcepts.validation.core.model.Department;
+import com.giftedconcepts.validation.core.model.PurchaseOrder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.validation.ValidatorFactory;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@TestPropertySource(properties = "com.giftedconcepts.validate.annotation.metrics.enabled=true")
+public class ValidationMetricsTest extends AbstractApplicationSystemIT {
+
+    @Autowired
+    private ValidatorFactory validator;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void initialize() {
+
+        random = new Random();
+    }
+
+    @Test
+    void testValidationIsTimedAndCountedByPath() {
+
+        final long validations = timer(Department.class).count();
+        final double baseFields = counter(ValidationMetrics.FIELDS, Department.class, "base");
+        final double legalFields = counter(ValidationMetrics.FIELDS, Department.class, "legal");
+        final double baseScanned = counter(ValidationMetrics.SCANNED, Department.class, "base");
+        final double legalScanned = counter(ValidationMetrics.SCANNED, Department.class, "legal");
+        final double baseViolations = counter(ValidationMetrics.VIOLATIONS, Department.class, "base");
+        final double legalViolations = counter(ValidationMetrics.VIOLATIONS, Department.class, "legal");
+
+        /* The name has an unprintable character, the legal statement is valid */
+        assertEquals(1, validator.getValidator().validate(buildDepartment("Name" + (char) 7, "Legal")).size());
+
+        assertEquals(validations + 1, timer(Department.class).count());
+        assertEquals(baseFields + 1, counter(ValidationMetrics.FIELDS, Department.class, "base"));
+        assertEquals(legalFields + 1, counter(ValidationMetrics.FIELDS, Department.class, "legal"));
+        assertEquals(baseScanned + 5, counter(ValidationMetrics.SCANNED, Department.class, "base"));
+        assertEquals(legalScanned + 5, counter(ValidationMetrics.SCANNED, Department.class, "legal"));
+        assertEquals(baseViolations + 1, counter(ValidationMetrics.VIOLATIONS, Department.class, "base"));
+        assertEquals(legalViolations, counter(ValidationMetrics.VIOLATIONS, Department.class, "legal"));
+    }
+
+    @Test
+    void testSkippedFieldsAreCounted() {
+
+        final double skippedFields = counter(ValidationMetrics.FIELDS, PurchaseOrder.class, "skip");
+
+        validator.getValidator().validate(buildPurchaseOrder("Timmy Richard", "A description",
+                buildDepartment("Information Technology", "This is my legal statement."),
+                buildPurchaseOrderLineItems(true, 1, null, null)));
+
+        /* PurchaseOrder.skipMyField */
+        assertEquals(skippedFields + 1, counter(ValidationMetrics.FIELDS, PurchaseOrder.class, "skip"));
+    }
+
+    private Timer timer(final Class<?> type) {
+        return Timer.builder(ValidationMetrics.VALIDATIONS).tag(ValidationMetrics.CLASS_TAG, type.getName())
+                .register(meterRegistry);
+    }
+
+    private double counter(final String name, final Class<?> type, final String path) {
+        return Counter.builder(name).tag(ValidationMetrics.CLASS_TAG, type.getName())
+                .tag(ValidationMetrics.PATH_TAG, path).register(meterRegistry).count();
+    }
+}
@@ -0,0 +1,207 @@
+package com.giftedconcepts.validation.core.policy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CharacterPoliciesTest {
+
+    private static final String DEFAULT_REGEX = "\\P{Print}";
+    private static final int MULTI_MEGABYTE = 4 * 1024 * 1024;
+
+    private final Random random = new Random(20221107L);
+
+    @Test
+    void testIsCharacterClass() {
+        assertTrue(CharacterPolicies.isCharacterClass("\\P{Print}"));
+        assertTrue(CharacterPolicies.isCharacterClass("\\p{Cntrl}"));
+        assertTrue(CharacterPolicies.isCharacterClass("\\PL"));
+        assertTrue(CharacterPolicies.isCharacterClass("\\s"));
+        assertTrue(CharacterPolicies.isCharacterClass("[^\\x20-\\x7E]"));
+        assertTrue(CharacterPolicies.isCharacterClass("[\\x00-\\x1F&&[^\\n]]"));
+
+        assertFalse(CharacterPolicies.isCharacterClass("\\P{Print}+"));
+        assertFalse(CharacterPolicies.isCharacterClass("[a-z][0-9]"));
+        assertFalse(CharacterPolicies.isCharacterClass("(?i)[a-z]"));
+        assertFalse(CharacterPolicies.isCharacterClass("\\t\\t"));
+    }
+
+    @Test
+    void testCharacterClassCompilesToLookupTable() {
+        assertThat(CharacterPolicies.fromUnprintableRegex(DEFAULT_REGEX), instanceOf(CodePointSetPolicy.class));
+        assertThat(CharacterPolicies.fromUnprintableRegex("\\t\\t"), instanceOf(RegexCharacterPolicy.class));
+    }
+
+    @Test
+    void testEndOfViolation() {
+        final CharacterPolicy lookup = CharacterPolicies.fromUnprintableRegex(DEFAULT_REGEX);
+        assertEquals(2, lookup.endOfViolation("a\r\nb", 1));
+
+        /* A match of a regex is a single violation, an empty one covers a code point */
+        final CharacterPolicy regex = CharacterPolicies.fromUnprintableRegex("\\r\\n|\\p{Cc}");
+        assertThat(regex, instanceOf(RegexCharacterPolicy.class));
+        assertEquals(1, regex.indexOfViolation("a\r\nb", 0));
+        assertEquals(3, regex.endOfViolation("a\r\nb", 1));
+        assertEquals(2, regex.endOfViolation("a\nb", 1));
+        final CharacterPolicy empty = CharacterPolicies.fromUnprintableRegex("(?=b)");
+        assertEquals(1, empty.indexOfViolation("ab", 0));
+        assertEquals(2, empty.endOfViolation("ab", 1));
+    }
+
+    @Test
+    void testLookupTableMatchesRegexForEveryBmpCharacter() {
+        final Pattern pattern = Pattern.compile(DEFAULT_REGEX);
+        final CharacterPolicy policy = CharacterPolicies.fromUnprintableRegex(DEFAULT_REGEX);
+
+        for (int c = 0; c < Character.MIN_SUPPLEMENTARY_CODE_POINT; ++c) {
+            final String value = "a" + (char) c + "b";
+            assertEquals(expectedIndex(pattern, value), policy.indexOfViolation(value, 0), "char " + c);
+        }
+    }
+
+    @Test
+    void testLookupTableMatchesRegexForSurrogatePairs() {
+        final String regex = "[\\x00-\\x1F\\x{1F600}]";
+        final Pattern pattern = Pattern.compile(regex);
+        final CharacterPolicy policy = CharacterPolicies.fromUnprintableRegex(regex);
+
+        for (final int codePoint : new int[]{0x10000, 0x1F600, 0x1F601, 0x10FFFF}) {
+            final String value = "ab" + new String(Character.toChars(codePoint)) + "c";
+            assertEquals(expectedIndex(pattern, value), policy.indexOfViolation(value, 0), "code point " + codePoint);
+        }
+        /* Unpaired surrogates */
+        for (final String value : new String[]{"a\uD83Db", "a\uDE00b", "\uDE00\uD83D"}) {
+            assertEquals(expectedIndex(pattern, value), policy.indexOfViolation(value, 0));
+        }
+    }
+
+    @Test
+    void testMatchesPreviousBehaviorOnSingleLineValues() {
+        final CharacterPolicy policy = CharacterPolicies.fromUnprintableRegex(DEFAULT_REGEX);
+
+        for (int i = 0; i < 5_000; ++i) {
+            final String value = randomValue(1 + random.nextInt(200), 0.02).replaceAll("[\\n\\r\\u0085\\u2028\\u2029]",
+                    "x");
+            assertEquals(value.matches("(.*)" + DEFAULT_REGEX + "(.*)"), !policy.isValid(value), value);
+        }
+    }
+
+    @Test
+    void testMultiMegabyteValues() {
+        final Pattern pattern = Pattern.compile(DEFAULT_REGEX);
+        final CharacterPolicy policy = CharacterPolicies.fromUnprintableRegex(DEFAULT_REGEX);
+
+        final StringBuilder clean = new StringBuilder(MULTI_MEGABYTE);
+        while (clean.length() < MULTI_MEGABYTE) {
+            clean.append((char) (' ' + random.nextInt(95)));
+        }
+        assertEquals(-1, policy.indexOfViolation(clean, 0));
+
+        final String dirtyAtEnd = clean + "\u0007";
+        assertEquals(MULTI_MEGABYTE, policy.indexOfViolation(dirtyAtEnd, 0));
+        assertEquals(expectedIndex(pattern, dirtyAtEnd), policy.indexOfViolation(dirtyAtEnd, 0));
+
+        final String mixed = randomValue(MULTI_MEGABYTE, 0.0001);
+        assertEquals(expectedIndex(pattern, mixed), policy.indexOfViolation(mixed, 0));
+    }
+
+    @Test
+    void testRegexFallbackFindsMatchAnywhere() {
+        final CharacterPolicy policy = CharacterPolicies.fromUnprintableRegex("\\t\\t");
+
+        assertTrue(policy.isValid("a\tb\tc"));
+        assertEquals(3, policy.indexOfViolation("abc\t\tdef", 0));
+        assertEquals(-1, policy.indexOfViolation("abc\t\tdef", 4));
+    }
+
+    @Test
+    void testLegalPolicyAllowsPrintableAsciiAndConfiguredCodePoints() {
+        final CharacterPolicy policy = CharacterPolicies.printableAsciiAnd(149, 8226, 13, 10, 167, 182, 0x1F600);
+
+        assertTrue(policy.isValid(" ~ Section " + (char) 167 + " bullet " + (char) 8226 + "\r\n"));
+        assertEquals(2, policy.indexOfViolation("ab" + (char) 127, 0));
+        assertEquals(1, policy.indexOfViolation("a" + (char) 384, 0));
+
+        /* A configured supplementary code point is allowed as a whole surrogate pair */
+        assertTrue(policy.isValid("smile \uD83D\uDE00"));
+        assertEquals(6, policy.indexOfViolation("smile \uD83D\uDE01", 0));
+        /* Unpaired halves of the allowed pair are not */
+        assertEquals(1, policy.indexOfViolation("a\uD83Db", 0));
+        assertEquals(1, policy.indexOfViolation("a\uDE00b", 0));
+    }
+
+    @Test
+    void testLegalPolicyMultiMegabyteValue() {
+        final CharacterPolicy policy = CharacterPolicies.printableAsciiAnd(167, 182);
+
+        final StringBuilder value = new StringBuilder(MULTI_MEGABYTE);
+        while (value.length() < MULTI_MEGABYTE) {
+            value.append(random.nextInt(10) == 0 ? (char) 167 : (char) (' ' + random.nextInt(95)));
+        }
+        assertTrue(policy.isValid(value));
+
+        value.setCharAt(MULTI_MEGABYTE - 2, (char) 149);
+        assertEquals(MULTI_MEGABYTE - 2, policy.indexOfViolation(value, 0));
+        assertEquals(-1, policy.indexOfViolation(value, MULTI_MEGABYTE - 1));
+    }
+
+    @Test
+    void testDefinitionAllowsCategoriesRangesAndCodePoints() {
+        final CharacterPolicy policy = CharacterPolicies.fromDefinition(Arrays.asList("Nd", "Lo"),
+                Arrays.asList("0041-005A", "U+0020"), '\t');
+
+        assertTrue(policy.isValid("ABC 123\t" + (char) 0x4E2D + (char) 0x0669));
+        /* Lowercase letters are neither in the categories nor in the ranges */
+        assertEquals(1, policy.indexOfViolation("Ab", 0));
+        assertEquals(0, policy.indexOfViolation("\n", 0));
+        /* Supplementary code points of a category are allowed as whole surrogate pairs */
+        assertTrue(policy.isValid(new String(Character.toChars(0x20000))));
+
+        /* A one letter group holds all of its categories */
+        final CharacterPolicy letters = CharacterPolicies.fromDefinition(Collections.singletonList("L"), null);
+        assertTrue(letters.isValid("Ab" + (char) 233 + (char) 0x4E2D));
+        assertEquals(1, letters.indexOfViolation("a1", 0));
+    }
+
+    @Test
+    void testDefinitionRejectsUnknownCategoriesAndInvalidRanges() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CharacterPolicies.fromDefinition(Collections.singletonList("Xx"), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> CharacterPolicies.fromDefinition(null, Collections.singletonList("0020-zz")));
+    }
+
+    private static int expectedIndex(final Pattern pattern, final CharSequence value) {
+        final Matcher matcher = pattern.matcher(value);
+
+        return matcher.find() ? matcher.start() : -1;
+    }
+
+    /**
+     * @param length               number of chars
+     * @param unprintableFrequency share of chars drawn from outside printable ASCII
+     */
+    private String randomValue(final int length, final double unprintableFrequency) {
+        final StringBuilder value = new StringBuilder(length);
+        for (int i = 0; i < length; ++i) {
+            if (random.nextDouble() < unprintableFrequency) {
+                value.append((char) random.nextInt(Character.MIN_SUPPLEMENTARY_CODE_POINT));
+            } else {
+                value.append((char) (' ' + random.nextInt(95)));
+            }
+        }
+
+        return value.toString();
+    }
+}
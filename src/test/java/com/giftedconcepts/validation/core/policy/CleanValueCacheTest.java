@@ -0,0 +1,86 @@
+package com.giftedconcepts.validation.core.policy;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CleanValueCacheTest {
+
+    private final AtomicInteger scans = new AtomicInteger();
+    private final CharacterPolicy base = countingPolicy(CharacterPolicies.fromUnprintableRegex("\\P{Print}"));
+
+    @Test
+    void testCleanValueIsScannedOnce() {
+        final CleanValueCache cache = new CleanValueCache(true, 1_000_000, 16);
+        final CharacterPolicy policy = cache.wrap(base);
+        final String value = StringUtils.repeat("clean ", 100);
+
+        assertTrue(policy.isValid(value));
+        assertTrue(policy.isValid(value));
+        /* Same content, another instance */
+        assertTrue(policy.isValid(new String(value.toCharArray())));
+
+        assertEquals(1, scans.get());
+        assertEquals(2, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void testDirtyAndShortValuesAreNotCached() {
+        final CleanValueCache cache = new CleanValueCache(true, 1_000_000, 16);
+        final CharacterPolicy policy = cache.wrap(base);
+        final String dirty = StringUtils.repeat("dirty ", 100) + (char) 7;
+
+        assertEquals(dirty.length() - 1, policy.indexOfViolation(dirty, 0));
+        assertEquals(dirty.length() - 1, policy.indexOfViolation(dirty, 0));
+        assertTrue(policy.isValid("short"));
+        assertTrue(policy.isValid("short"));
+
+        assertEquals(4, scans.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testPoliciesDoNotShareEntries() {
+        final CleanValueCache cache = new CleanValueCache(true, 1_000_000, 16);
+        final CharacterPolicy digits = cache.wrap(countingPolicy(
+                new CodePointSetPolicy(CodePointSet.builder().addRange('0', '9').build())));
+        final String value = StringUtils.repeat("1234567890", 10);
+        final String letters = StringUtils.repeat("abcdefghij", 10);
+
+        assertTrue(cache.wrap(base).isValid(letters));
+        assertEquals(0, digits.indexOfViolation(letters, 0));
+        assertTrue(digits.isValid(value));
+        assertEquals(3, scans.get());
+    }
+
+    @Test
+    void testEvictionByTotalLength() {
+        final CleanValueCache cache = new CleanValueCache(true, 1_000, 16);
+        final CharacterPolicy policy = cache.wrap(base);
+        for (int i = 0; i < 100; ++i) {
+            policy.isValid(StringUtils.repeat((char) ('A' + i % 26), 100 + i));
+        }
+
+        assertTrue(cache.size() < 10);
+        assertTrue(cache.stats().evictionCount() > 90);
+    }
+
+    @Test
+    void testDisabledCacheDoesNotWrap() {
+        final CleanValueCache cache = new CleanValueCache(false, 1_000_000, 16);
+        assertSame(base, cache.wrap(base));
+    }
+
+    private CharacterPolicy countingPolicy(final CharacterPolicy policy) {
+        return (value, fromIndex) -> {
+            scans.incrementAndGet();
+            return policy.indexOfViolation(value, fromIndex);
+        };
+    }
+}
@@ -0,0 +1,124 @@
+package com.giftedconcepts.validation.core.policy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Property tests of the printable ASCII prescan: a String goes through the prescan, the same content as a
+ * StringBuilder goes through the table lookup only, and both must report the same index as the regex.
+ */
+public class CodePointSetTest {
+
+    private static final String DEFAULT_REGEX = "\\P{Print}";
+    private static final int[] ALLOWED_LEGAL = {149, 8226, 13, 10, 167, 182};
+
+    private final Random random = new Random(20221121L);
+    private final Pattern pattern = Pattern.compile(DEFAULT_REGEX);
+    private final CodePointSet base =
+            ((CodePointSetPolicy) CharacterPolicies.fromUnprintableRegex(DEFAULT_REGEX)).getAllowed();
+    private final CodePointSet legal = ((CodePointSetPolicy) CharacterPolicies.printableAsciiAnd(ALLOWED_LEGAL))
+            .getAllowed();
+
+    @Test
+    void testPrescanMatchesTableForEveryCharacterAtEveryGroupPosition() {
+        final String prefix = "The quick brown fox jumps over the lazy dog";
+        for (int c = 0; c < Character.MIN_SUPPLEMENTARY_CODE_POINT; ++c) {
+            final int position = c % 24;
+            final String value = prefix.substring(0, position) + (char) c + prefix.substring(position);
+            assertSamePaths(base, value, 0);
+            assertSamePaths(legal, value, 0);
+        }
+    }
+
+    @Test
+    void testPrescanMatchesTableAndRegexOnRandomValues() {
+        for (int i = 0; i < 20_000; ++i) {
+            /* Lengths around the group and block boundaries */
+            final int length = random.nextBoolean() ? random.nextInt(40) : random.nextInt(1_200);
+            final String value = randomValue(length, random.nextInt(4) == 0 ? 0.0 : 0.01);
+            final int fromIndex = length == 0 || random.nextInt(4) != 0 ? 0 : random.nextInt(length);
+
+            assertEquals(expectedIndex(value, fromIndex), base.indexNotIn(value, fromIndex), value);
+            assertSamePaths(base, value, fromIndex);
+            assertSamePaths(legal, value, fromIndex);
+        }
+    }
+
+    @Test
+    void testPrescanResynchronizesAfterSurrogatePairAcrossGroups() {
+        final String emoji = new String(Character.toChars(0x1F600));
+        final CodePointSet withEmoji = CodePointSet.builder().addAll(base).add(0x1F600).build();
+        for (int position = 0; position < 40; ++position) {
+            final StringBuilder value = new StringBuilder();
+            while (value.length() < position) {
+                value.append('a');
+            }
+            value.append(emoji);
+            while (value.length() < 64) {
+                value.append('b');
+            }
+            final String clean = value.toString();
+            assertEquals(-1, withEmoji.indexNotIn(clean, 0), clean);
+            assertSamePaths(withEmoji, clean + (char) 7, 0);
+            assertSamePaths(base, clean, 0);
+        }
+    }
+
+    @Test
+    void testSetWithoutPrintableAsciiIsNotPrescanned() {
+        final CodePointSet digits = CodePointSet.builder().addRange('0', '9').build();
+        assertEquals(3, digits.indexNotIn("012a01234567890123456789", 0));
+        assertSamePaths(digits, "01234567890123456789x", 0);
+    }
+
+    private static void assertSamePaths(final CodePointSet set, final String value, final int fromIndex) {
+        assertEquals(set.indexNotIn(new StringBuilder(value), fromIndex), set.indexNotIn(value, fromIndex), value);
+    }
+
+    private int expectedIndex(final String value, final int fromIndex) {
+        final Matcher matcher = pattern.matcher(value);
+        return matcher.find(fromIndex) ? matcher.start() : -1;
+    }
+
+    /**
+     * @return mostly printable ASCII, with controls, DEL, Latin-1, other BMP characters, surrogate pairs and unpaired
+     * surrogates at the given rate.
+     */
+    private String randomValue(final int length, final double otherRate) {
+        final StringBuilder value = new StringBuilder(length);
+        while (value.length() < length) {
+            if (random.nextDouble() >= otherRate) {
+                value.append((char) (' ' + random.nextInt('~' - ' ' + 1)));
+                continue;
+            }
+            switch (random.nextInt(6)) {
+                case 0:
+                    value.append((char) random.nextInt(' '));
+                    break;
+                case 1:
+                    value.append('\u007F');
+                    break;
+                case 2:
+                    value.append((char) (0x80 + random.nextInt(0x80)));
+                    break;
+                case 3:
+                    value.append((char) random.nextInt(Character.MIN_SUPPLEMENTARY_CODE_POINT));
+                    break;
+                case 4:
+                    value.appendCodePoint(Character.MIN_SUPPLEMENTARY_CODE_POINT
+                            + random.nextInt(Character.MAX_CODE_POINT - Character.MIN_SUPPLEMENTARY_CODE_POINT));
+                    break;
+                default:
+                    value.append((char) (Character.MIN_SURROGATE + random.nextInt(0x800)));
+                    break;
+            }
+        }
+
+        return value.toString();
+    }
+}
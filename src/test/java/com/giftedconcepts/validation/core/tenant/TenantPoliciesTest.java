@@ -0,0 +1,186 @@
+package com.giftedconcepts.validation.core.tenant;
+
+import com.giftedconcepts.validation.core.annotations.UnprintableCharacters;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharactersAllowLegal;
+import com.giftedconcepts.validation.core.annotations.UnprintableCharactersPolicy;
+import com.giftedconcepts.validation.core.config.AbstractApplicationSystemIT;
+import com.giftedconcepts.validation.core.config.ApplicationProperties;
+import com.giftedconcepts.validation.core.config.ValidationSnapshot;
+import com.giftedconcepts.validation.core.config.ValidationSnapshots;
+import com.giftedconcepts.validation.core.policy.CleanValueCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.validation.ValidatorFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "com.giftedconcepts.validate.annotation.filter.enabled=true",
+        "com.giftedconcepts.validate.annotation.tenants.definitions.acme.allowedLegalValidationCharacters=9731",
+        "com.giftedconcepts.validate.annotation.tenants.definitions.globex.policies.notes.ranges=0041-005A"})
+public class TenantPoliciesTest extends AbstractApplicationSystemIT {
+
+    /* SNOWMAN, only allowed in the legal statements of acme */
+    private static final String SNOWMAN = "☃";
+
+    @Autowired
+    private ValidatorFactory validator;
+    @Autowired
+    private ValidationSnapshots validationSnapshots;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testTenantsOverrideTheGlobalPolicies() {
+        assertFalse(isValid(null, new TenantModel(SNOWMAN, "lower case")));
+        assertTrue(isValid("acme", new TenantModel(SNOWMAN, "lower case")));
+        assertFalse(isValid("globex", new TenantModel(SNOWMAN, "UPPER")));
+
+        /* Only the notes policy of globex is replaced */
+        assertTrue(isValid("globex", new TenantModel("Legal", "UPPER")));
+        assertFalse(isValid("globex", new TenantModel("Legal", "lower case")));
+        assertTrue(isValid("acme", new TenantModel("Legal", "lower case")));
+
+        /* An unknown tenant is validated with the global configuration */
+        assertFalse(isValid("initech", new TenantModel(SNOWMAN, "lower case")));
+    }
+
+    @Test
+    void testTenantViewsAreCompiledOnce() {
+        final ValidationSnapshot snapshot = validationSnapshots.get();
+
+        assertNull(snapshot.getTenant());
+        assertSame(snapshot.forTenant("acme"), snapshot.forTenant("acme"));
+        assertEquals("acme", snapshot.forTenant("acme").getTenant());
+        assertSame(snapshot, snapshot.forTenant("initech"));
+        /* The policies a tenant does not replace are shared */
+        assertSame(snapshot.getPolicies().get("address"), snapshot.forTenant("acme").getPolicies().get("address"));
+    }
+
+    @Test
+    void testInvalidTenantFailsTheCompilation() {
+        final ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.setUnprintableRegex("\\P{Print}");
+        final ApplicationProperties.Policy notes = new ApplicationProperties.Policy();
+        notes.setRanges(Collections.singletonList("0020-007E"));
+        applicationProperties.getPolicies().put("notes", notes);
+        final ApplicationProperties.Policy invalid = new ApplicationProperties.Policy();
+        invalid.setCategories(Collections.singletonList("Xx"));
+        final ApplicationProperties.Tenant tenant = new ApplicationProperties.Tenant();
+        tenant.getPolicies().put("notes", invalid);
+        applicationProperties.getTenants().getDefinitions().put("initech", tenant);
+
+        /* Rejected with the configuration, not by the first request of the tenant */
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ValidationSnapshot.compile(1L, applicationProperties, new CleanValueCache(false, 0L, 0)));
+        assertTrue(e.getMessage().contains("initech"));
+    }
+
+    @Test
+    void testEveryTenantViewIsKept() {
+        final ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.setUnprintableRegex("\\P{Print}");
+        final ApplicationProperties.Policy notes = new ApplicationProperties.Policy();
+        notes.setRanges(Collections.singletonList("0020-007E"));
+        applicationProperties.getPolicies().put("notes", notes);
+        for (int i = 0; i < 1000; ++i) {
+            final ApplicationProperties.Policy digit = new ApplicationProperties.Policy();
+            digit.setCodePoints(new int[]{'0' + i % 10});
+            final ApplicationProperties.Tenant tenant = new ApplicationProperties.Tenant();
+            tenant.getPolicies().put("notes", digit);
+            applicationProperties.getTenants().getDefinitions().put("tenant-" + i, tenant);
+        }
+        final ValidationSnapshot snapshot = ValidationSnapshot.compile(1L, applicationProperties,
+                new CleanValueCache(false, 0L, 0));
+
+        /* Each view is compiled once, none is dropped and compiled again by a validation */
+        final List<ValidationSnapshot> views = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            views.add(snapshot.forTenant("tenant-" + i));
+        }
+        for (int i = 0; i < 1000; ++i) {
+            final ValidationSnapshot view = snapshot.forTenant("tenant-" + i);
+            assertSame(views.get(i), view);
+            assertEquals("tenant-" + i, view.getTenant());
+            assertTrue(view.getPolicies().get("notes").isValid(String.valueOf((char) ('0' + i % 10))));
+            assertFalse(view.getPolicies().get("notes").isValid(String.valueOf((char) ('0' + (i + 1) % 10))));
+        }
+    }
+
+    @Test
+    void testTenantsNeverSeeEachOther() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> validations = new ArrayList<>();
+            for (int thread = 0; thread < 4; ++thread) {
+                final String tenant = thread % 2 == 0 ? "acme" : "globex";
+                validations.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; ++i) {
+                        assertEquals("acme".equals(tenant), isValid(tenant, new TenantModel(SNOWMAN, "UPPER")));
+                        assertEquals("acme".equals(tenant), isValid(tenant, new TenantModel("Legal", "lower")));
+                    }
+                }));
+            }
+            for (final Future<?> validation : validations) {
+                validation.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testTenantHeader() throws Exception {
+        final byte[] body = ("{\"purchaserName\":\"Tim Richard\",\"description\":\"A description\",\"submitDate\":"
+                + "\"2022-11-07\",\"department\":{\"name\":\"IT\",\"departmentLegalStatement\":\"" + SNOWMAN + "\"}}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        mockMvc.perform(post("/test/purchase-orders").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/test/purchase-orders").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header("X-Tenant-Id", "acme"))
+                .andExpect(status().isOk());
+        assertNull(TenantContext.getTenant());
+    }
+
+    private boolean isValid(final String tenant, final TenantModel model) {
+        try (TenantContext.Scope ignored = TenantContext.open(tenant)) {
+            return validator.getValidator().validate(model).isEmpty();
+        }
+    }
+
+    @UnprintableCharacters
+    static class TenantModel {
+
+        @UnprintableCharactersAllowLegal
+        final String legal;
+        @UnprintableCharactersPolicy("notes")
+        final String notes;
+
+        TenantModel(final String legal, final String notes) {
+            this.legal = legal;
+            this.notes = notes;
+        }
+    }
+}
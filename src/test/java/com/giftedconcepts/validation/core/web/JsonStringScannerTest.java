@@ -0,0 +1,66 @@
+package com.giftedconcepts.validation.core.web;
+
+import com.giftedconcepts.validation.core.policy.CodePointSet;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JsonStringScannerTest {
+
+    /* Printable ASCII and the Latin-1 letters */
+    private static final CodePointSet ALLOWED = CodePointSet.builder().addRange(' ', '~').addRange(0xC0, 0xFF).build();
+
+    @Test
+    void testCleanDocument() throws Exception {
+        assertNull(scan("{\"a\":[\"x\",{\"b\":\"\u00e9\\\"\\\\\\/\"}],\"\u0001key\":1,\"c\":\"\\u00E9\"}"));
+    }
+
+    @Test
+    void testPathAndOffset() throws Exception {
+        final String document = "{\"a\":[\"x\",{\"b\":\"ok\"},{\"b\":\"ok\",\"c\":\"\u00e9\u4e2d\"}]}";
+        final UnprintableCharactersInRequestException rejection = scan(document);
+
+        assertEquals("$.a[2].c", rejection.getPath());
+        assertEquals(0x4e2d, rejection.getCodePoint());
+        /* The e acute takes two bytes */
+        assertEquals(document.indexOf('\u4e2d') + 1, rejection.getOffset());
+    }
+
+    @Test
+    void testEscapes() throws Exception {
+        assertEquals('\n', scan("{\"a\":\"line\\nbreak\"}").getCodePoint());
+        assertEquals(0x1F600, scan("[\"\\uD83D\\uDE00\"]").getCodePoint());
+        assertEquals("$[1]", scan("[\"ok\", \"\\uD83D\"]").getPath());
+        assertEquals(0xD83D, scan("[\"\\uD83Dx\"]").getCodePoint());
+        assertEquals(7, scan("{\"a\":{\"b\":1},\"c\":\"\\u0007\"}").getCodePoint());
+        assertEquals("$.c", scan("{\"a\":{\"b\":1},\"c\":\"\\u0007\"}").getPath());
+    }
+
+    @Test
+    void testRejectionThrowsFromUpdate() {
+        final JsonStringScanner scanner = new JsonStringScanner(ALLOWED);
+        final byte[] bytes = "{\"a\":\"\u0007\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(UnprintableCharactersInRequestException.class, () -> scanner.update(bytes, 0, bytes.length));
+    }
+
+    /**
+     * Feeds the document a byte at a time, so every UTF-8 sequence and escape is split across updates.
+     */
+    private static UnprintableCharactersInRequestException scan(final String document) {
+        final JsonStringScanner scanner = new JsonStringScanner(ALLOWED);
+        try {
+            for (final byte b : document.getBytes(StandardCharsets.UTF_8)) {
+                scanner.update(b);
+            }
+        } catch (final UnprintableCharactersInRequestException e) {
+            return e;
+        }
+
+        return null;
+    }
+}
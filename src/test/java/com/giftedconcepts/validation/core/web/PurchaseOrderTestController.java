@@ -0,0 +1,42 @@
+package com.giftedconcepts.validation.core.web;
+
+import com.giftedconcepts.validation.core.model.PurchaseOrder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+@RestController
+public class PurchaseOrderTestController {
+
+    static final String PATH = "/test/purchase-orders";
+
+    private final Validator validator;
+    private final AtomicInteger received = new AtomicInteger();
+
+    public PurchaseOrderTestController(final Validator validator) {
+        this.validator = validator;
+    }
+
+    /* The property nodes of the violations are not bean paths, so the binding result cannot hold them */
+    @PostMapping(PATH)
+    public ResponseEntity<String> create(@RequestBody final PurchaseOrder purchaseOrder) {
+        received.incrementAndGet();
+        final Set<ConstraintViolation<PurchaseOrder>> violations = validator.validate(purchaseOrder);
+        if (!violations.isEmpty()) {
+            return ResponseEntity.badRequest().body(violations.stream().map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining("\n")));
+        }
+        return ResponseEntity.ok(purchaseOrder.getPurchaserName());
+    }
+
+    int getReceived() {
+        return received.get();
+    }
+}
@@ -0,0 +1,327 @@
+package com.giftedconcepts.validation.core.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.giftedconcepts.validation.core.batch.StreamValidationService;
+import com.giftedconcepts.validation.core.config.AbstractApplicationSystemIT;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestPropertySource(properties = {
+        "com.giftedconcepts.validate.annotation.stream.maxConcurrentStreams=2",
+        "com.giftedconcepts.validate.annotation.stream.maxInFlight=64",
+        "com.giftedconcepts.validate.annotation.stream.maxLineLength=4096",
+        "com.giftedconcepts.validate.annotation.stream.types.purchase-orders="
+                + "com.giftedconcepts.validation.core.model.PurchaseOrder"})
+public class StreamValidationControllerTest extends AbstractApplicationSystemIT {
+
+    private static final String PATH = "/validation/purchase-orders";
+    private static final int RECORDS = 20000;
+    private static final int TIMEOUT_MILLIS = 60000;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private StreamValidationService streamValidationService;
+
+    @Test
+    void testLargeStreamIsValidatedWhileItIsUploaded() throws Exception {
+        final List<Long> expectedInvalidLines = new ArrayList<>();
+        final AtomicInteger resultsWhenUploaded = new AtomicInteger(-1);
+        final List<JsonNode> results = new ArrayList<>();
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Socket socket = connect()) {
+            final OutputStream out = socket.getOutputStream();
+            final InputStream in = socket.getInputStream();
+            out.write(requestHeaders(PATH).getBytes(StandardCharsets.US_ASCII));
+
+            /* The upload and the download run at the same time, as they do with any streaming client */
+            final Future<?> upload = executor.submit(() -> {
+                final StringBuilder chunk = new StringBuilder();
+                long line = 0L;
+                for (int record = 1; record <= RECORDS; ++record) {
+                    ++line;
+                    if (record == RECORDS / 2) {
+                        /* Windows line break, an empty line and a malformed line */
+                        chunk.append(purchaseOrder(record, false, true)).append("\r\n\n{\"purchaserName\":\n");
+                        line += 2;
+                        expectedInvalidLines.add(line);
+                        continue;
+                    }
+                    if (record == RECORDS / 4) {
+                        /* Over stream.maxLineLength, it is not parsed */
+                        chunk.append("{\"description\":\"").append(StringUtils.repeat('a', 5000)).append("\"}\n");
+                        expectedInvalidLines.add(line);
+                        continue;
+                    }
+                    final boolean dirty = record % 97 == 0;
+                    final boolean dated = record % 1000 != 0;
+                    if (dirty || !dated) {
+                        expectedInvalidLines.add(line);
+                    }
+                    chunk.append(purchaseOrder(record, dirty, dated)).append('\n');
+                    if (chunk.length() > 16384) {
+                        writeChunk(out, chunk);
+                    }
+                }
+                writeChunk(out, chunk);
+                out.write("0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                synchronized (results) {
+                    resultsWhenUploaded.set(results.size());
+                }
+                return null;
+            });
+
+            final ChunkedReader reader = new ChunkedReader(in);
+            assertEquals("HTTP/1.1 200", reader.readLine().substring(0, 12));
+            reader.readHeaders();
+            String line;
+            while ((line = reader.readChunkedLine()) != null) {
+                final JsonNode result = objectMapper.readTree(line);
+                synchronized (results) {
+                    results.add(result);
+                }
+            }
+            upload.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        /* One result per record, in order, the empty line has none */
+        assertEquals(RECORDS + 1, results.size());
+        final List<Long> invalidLines = new ArrayList<>();
+        for (int i = 0; i < results.size(); ++i) {
+            final JsonNode result = results.get(i);
+            if (i > 0) {
+                assertTrue(results.get(i - 1).get("line").asLong() < result.get("line").asLong());
+            }
+            if (!result.get("valid").asBoolean()) {
+                invalidLines.add(result.get("line").asLong());
+            }
+        }
+        assertEquals(expectedInvalidLines, invalidLines);
+        assertTrue(resultsWhenUploaded.get() > 0, "No result was streamed before the end of the upload");
+
+        final JsonNode dirty = results.get(96);
+        assertEquals(97, dirty.get("line").asLong());
+        assertEquals("PurchaseOrder.description", dirty.get("violations").get(0).get("path").asText());
+        final JsonNode tooLong = results.get(RECORDS / 4 - 1);
+        assertTrue(tooLong.get("violations").get(0).get("message").asText().startsWith("Record exceeds"));
+        final JsonNode malformed = results.get(RECORDS / 2);
+        assertEquals(RECORDS / 2 + 2, malformed.get("line").asLong());
+        assertTrue(malformed.get("violations").get(0).get("message").asText().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void testEachResultIsSentBeforeTheNextRecord() throws IOException {
+        try (Socket socket = connect()) {
+            final OutputStream out = socket.getOutputStream();
+            final ChunkedReader reader = new ChunkedReader(socket.getInputStream());
+            out.write(requestHeaders(PATH).getBytes(StandardCharsets.US_ASCII));
+
+            writeChunk(out, new StringBuilder(purchaseOrder(1, false, true)).append('\n'));
+            assertEquals("HTTP/1.1 200", reader.readLine().substring(0, 12));
+            reader.readHeaders();
+            assertEquals(1, objectMapper.readTree(reader.readChunkedLine()).get("line").asLong());
+
+            writeChunk(out, new StringBuilder(purchaseOrder(2, true, true)).append('\n'));
+            final JsonNode second = objectMapper.readTree(reader.readChunkedLine());
+            assertEquals(2, second.get("line").asLong());
+            assertFalse(second.get("valid").asBoolean());
+
+            out.write("0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            assertNull(reader.readChunkedLine());
+        }
+    }
+
+    @Test
+    void testConcurrentStreamsAreBounded() throws Exception {
+        try (Socket first = connect(); Socket second = connect()) {
+            final ChunkedReader firstReader = open(first);
+            open(second);
+            assertEquals(2, streamValidationService.getActiveStreams());
+
+            /* Over stream.maxConcurrentStreams, rejected without its body being read */
+            try (Socket third = connect()) {
+                third.getOutputStream().write(requestHeaders(PATH).getBytes(StandardCharsets.US_ASCII));
+                third.getOutputStream().flush();
+                assertEquals("HTTP/1.1 503", new ChunkedReader(third.getInputStream()).readLine().substring(0, 12));
+            }
+            assertEquals(2, streamValidationService.getActiveStreams());
+
+            /* The end of a stream frees its place */
+            first.getOutputStream().write("0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            first.getOutputStream().flush();
+            assertNull(firstReader.readChunkedLine());
+            try (Socket fourth = connect()) {
+                open(fourth);
+                assertEquals(2, streamValidationService.getActiveStreams());
+            }
+        }
+    }
+
+    @Test
+    void testUnknownType() throws IOException {
+        try (Socket socket = connect()) {
+            final OutputStream out = socket.getOutputStream();
+            out.write(requestHeaders("/validation/invoices").getBytes(StandardCharsets.US_ASCII));
+            out.write("0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            assertEquals("HTTP/1.1 404", new ChunkedReader(socket.getInputStream()).readLine().substring(0, 12));
+        }
+    }
+
+    /**
+     * Starts a stream and waits for the result of its first record, so the stream holds its place.
+     */
+    private ChunkedReader open(final Socket socket) throws IOException {
+        final OutputStream out = socket.getOutputStream();
+        final ChunkedReader reader = new ChunkedReader(socket.getInputStream());
+        out.write(requestHeaders(PATH).getBytes(StandardCharsets.US_ASCII));
+        writeChunk(out, new StringBuilder(purchaseOrder(1, false, true)).append('\n'));
+        assertEquals("HTTP/1.1 200", reader.readLine().substring(0, 12));
+        reader.readHeaders();
+        assertEquals(1, objectMapper.readTree(reader.readChunkedLine()).get("line").asLong());
+        return reader;
+    }
+
+    private Socket connect() throws IOException {
+        final URI uri = URI.create(createURLWithPort(""));
+        final Socket socket = new Socket(uri.getHost(), uri.getPort());
+        socket.setSoTimeout(TIMEOUT_MILLIS);
+        return socket;
+    }
+
+    private static String requestHeaders(final String path) {
+        return "POST " + path + " HTTP/1.1\r\nHost: localhost\r\nContent-Type: application/x-ndjson\r\n"
+                + "Accept: application/x-ndjson\r\nTransfer-Encoding: chunked\r\nConnection: close\r\n\r\n";
+    }
+
+    private static void writeChunk(final OutputStream out, final StringBuilder chunk) throws IOException {
+        final byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        chunk.setLength(0);
+        if (bytes.length == 0) {
+            return;
+        }
+        out.write((Integer.toHexString(bytes.length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.write(bytes);
+        out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private static String purchaseOrder(final int record, final boolean dirty, final boolean dated) {
+        final StringBuilder json = new StringBuilder(512);
+        json.append("{\"purchaseOrderId\":").append(record)
+                .append(",\"purchaserName\":\"Purchaser ").append(record)
+                .append("\",\"description\":\"").append(dirty ? "Dirty \\u0007 order " : "Order ").append(record)
+                .append('"');
+        if (dated) {
+            json.append(",\"submitDate\":\"2022-11-07\"");
+        }
+        json.append(",\"department\":{\"departmentId\":").append(record % 10)
+                .append(",\"floor\":3,\"name\":\"Purchasing\"},\"purchaseOrderLineItems\":[");
+        for (int item = 1; item <= 3; ++item) {
+            json.append(item > 1 ? "," : "").append("{\"identifiableField\":\"item-").append(record).append('-')
+                    .append(item).append("\",\"itemDescription\":\"Line item ").append(item)
+                    .append("\",\"quantity\":2,\"unitPrice\":1.25,\"total\":2.50}");
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Reads a chunked HTTP/1.1 response one NDJSON line at a time, whatever the chunk boundaries are.
+     */
+    private static final class ChunkedReader {
+
+        private final InputStream in;
+        private int remaining;
+        private boolean ended;
+
+        private ChunkedReader(final InputStream in) {
+            this.in = in;
+        }
+
+        private String readLine() throws IOException {
+            final ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != '\n') {
+                if (b < 0) {
+                    throw new IOException("Unexpected end of the response");
+                }
+                if (b != '\r') {
+                    line.write(b);
+                }
+            }
+            return line.toString(StandardCharsets.UTF_8);
+        }
+
+        private void readHeaders() throws IOException {
+            while (!readLine().isEmpty()) {
+                /* Skipped */
+            }
+        }
+
+        /**
+         * @return the next line of the body, or null at its end.
+         */
+        private String readChunkedLine() throws IOException {
+            final ByteArrayOutputStream line = new ByteArrayOutputStream();
+            while (true) {
+                final int b = readBody();
+                if (b < 0) {
+                    return line.size() == 0 ? null : line.toString(StandardCharsets.UTF_8);
+                }
+                if (b == '\n') {
+                    return line.toString(StandardCharsets.UTF_8);
+                }
+                line.write(b);
+            }
+        }
+
+        private int readBody() throws IOException {
+            if (ended) {
+                return -1;
+            }
+            if (remaining == 0) {
+                String size = readLine();
+                if (size.isEmpty()) {
+                    /* The line break after the previous chunk */
+                    size = readLine();
+                }
+                remaining = Integer.parseInt(size.trim(), 16);
+                if (remaining == 0) {
+                    ended = true;
+                    return -1;
+                }
+            }
+            --remaining;
+            return in.read();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.giftedconcepts.validation.core.web;
+
+import com.giftedconcepts.validation.core.config.AbstractApplicationSystemIT;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "com.giftedconcepts.validate.annotation.filter.enabled=true")
+public class UnprintableCharactersFilterTest extends AbstractApplicationSystemIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PurchaseOrderTestController controller;
+
+    @Test
+    void testCleanBodyIsBound() throws Exception {
+        mockMvc.perform(post(PurchaseOrderTestController.PATH).contentType(MediaType.APPLICATION_JSON)
+                        .content(purchaseOrder("Tim Richard", "A description",
+                                "\u2022 Line one\\n\u00a7 line two").getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Tim Richard"));
+    }
+
+    @Test
+    void testLegalCharactersAreNotRejectedInOtherFields() throws Exception {
+        /* Only the validator knows the line feed is allowed in the legal statement only */
+        mockMvc.perform(post(PurchaseOrderTestController.PATH).contentType(MediaType.APPLICATION_JSON)
+                        .content(purchaseOrder("Tim Richard", "Line one\\nline two", "Legal")))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(
+                        "Field PurchaseOrder.description has special characters which failed validation."));
+    }
+
+    @Test
+    void testEscapedControlCharacterIsRejectedBeforeBinding() throws Exception {
+        final int received = controller.getReceived();
+        final String body = purchaseOrder("Tim Richard", "A bell \\u0007", "Legal");
+
+        mockMvc.perform(post(PurchaseOrderTestController.PATH).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.path").value("$.description"))
+                .andExpect(jsonPath("$.offset").value(body.indexOf("\\u0007")))
+                .andExpect(jsonPath("$.codePoint").value(7));
+        assertEquals(received, controller.getReceived());
+    }
+
+    @Test
+    void testRawControlCharacterInNestedArrayIsRejected() throws Exception {
+        final String body = "{\"purchaserName\":\"Tim\",\"submitDate\":\"2022-11-07\",\"purchaseOrderLineItems\":["
+                + "{\"itemDescription\":\"fine\"},{\"quantity\":2,\"itemDescription\":\"bad\u0001\"}]}";
+
+        mockMvc.perform(post(PurchaseOrderTestController.PATH).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.path").value("$.purchaseOrderLineItems[1].itemDescription"));
+    }
+
+    @Test
+    void testOtherContentTypesAreNotScanned() throws Exception {
+        mockMvc.perform(post(PurchaseOrderTestController.PATH).contentType(MediaType.TEXT_PLAIN)
+                        .content("A bell \u0007"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    private static String purchaseOrder(final String purchaserName, final String description,
+                                        final String legalStatement) {
+        return "{\"purchaserName\":\"" + purchaserName + "\",\"description\":\"" + description
+                + "\",\"submitDate\":\"2022-11-07\",\"department\":{\"name\":\"IT\",\"departmentLegalStatement\":\""
+                + legalStatement + "\"}}";
+    }
+}